@@ -0,0 +1,88 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jol.info.GraphLayout;
+
+// the retained size of the hash trie per entry, keys excluded (map entries included), is printed at the start of
+// each trial, the scores are the time of a full iteration and of a single lookup
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FootprintBenchmark extends KeysState {
+
+    public enum Kind {
+        SET,
+        MAP
+    }
+
+    @Param({"SET", "MAP"})
+    public Kind                   kind;
+
+    private Set<Integer>          set;
+    private Map<Integer, Integer> map;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() {
+        initKeys();
+        Object trie;
+        if (kind == Kind.SET) {
+            trie = set = Set.of(present);
+        } else {
+            Entry<Integer, Integer>[] entries = new Entry[size];
+            for (int i = 0; i < size; i++) {
+                entries[i] = Entry.of(present[i], present[i]);
+            }
+            trie = map = Map.of(entries);
+        }
+        GraphLayout layout = GraphLayout.parseInstance(trie).subtract(GraphLayout.parseInstance((Object[]) present));
+        System.out.printf("FootprintBenchmark kind=%s size=%d bytes/entry=%.1f objects/entry=%.2f%n", kind, size, (double) layout.totalSize() / size, (double) layout.totalCount() / size);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        if (kind == Kind.SET) {
+            set.sequential().forEach(bh::consume);
+        } else {
+            map.sequential().forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public boolean lookup() {
+        Integer k = nextPresent();
+        return kind == Kind.SET ? set.contains(k) : map.containsKey(k);
+    }
+}
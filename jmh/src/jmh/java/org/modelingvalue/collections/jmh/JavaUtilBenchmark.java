@@ -0,0 +1,140 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// java.util baseline for SetBenchmark and MapBenchmark; mutating benchmarks undo their change to keep the size stable
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JavaUtilBenchmark extends KeysState {
+
+    private HashSet<Integer>          set;
+    private HashSet<Integer>          setCopy;
+    private HashMap<Integer, Integer> map;
+    private HashMap<Integer, Integer> half;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        initKeys();
+        set = new HashSet<>();
+        map = new HashMap<>();
+        half = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            set.add(present[i]);
+            map.put(present[i], i);
+            if (i % 2 == 0) {
+                half.put(present[i], -i);
+            }
+        }
+        setCopy = new HashSet<>(set);
+    }
+
+    @Benchmark
+    public boolean setAdd() {
+        Integer k = nextAbsent();
+        return set.add(k) && set.remove(k);
+    }
+
+    @Benchmark
+    public HashSet<Integer> setCopyAdd() {
+        HashSet<Integer> copy = new HashSet<>(set);
+        copy.add(nextAbsent());
+        return copy;
+    }
+
+    @Benchmark
+    public boolean setContains() {
+        return set.contains(nextPresent());
+    }
+
+    @Benchmark
+    public void setIterate(Blackhole bh) {
+        for (Iterator<Integer> it = set.iterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public boolean setEquals() {
+        return set.equals(setCopy);
+    }
+
+    @Benchmark
+    public int setHashCode() {
+        return set.hashCode();
+    }
+
+    @Benchmark
+    public Integer mapPut() {
+        Integer k = nextAbsent();
+        map.put(k, 0);
+        return map.remove(k);
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> mapCopyPut() {
+        HashMap<Integer, Integer> copy = new HashMap<>(map);
+        copy.put(nextAbsent(), 0);
+        return copy;
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> mapCopyPutAll() {
+        HashMap<Integer, Integer> copy = new HashMap<>(map);
+        copy.putAll(half);
+        return copy;
+    }
+
+    @Benchmark
+    public Integer mapGet() {
+        return map.get(nextPresent());
+    }
+
+    @Benchmark
+    public Integer mapGetMissing() {
+        return map.get(nextAbsent());
+    }
+
+    @Benchmark
+    public void mapIterate(Blackhole bh) {
+        for (Iterator<java.util.Map.Entry<Integer, Integer>> it = map.entrySet().iterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public int mapHashCode() {
+        return map.hashCode();
+    }
+}
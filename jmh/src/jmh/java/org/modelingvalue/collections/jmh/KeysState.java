@@ -0,0 +1,85 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public abstract class KeysState {
+    protected static final int PROBES = 1024;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int                 size;
+
+    protected Integer[]        present;
+    protected Integer[]        absent;
+    protected Integer[]        added;
+    private int[]              probes;
+    private int                probe;
+
+    protected void initKeys() {
+        Random random = new Random(size);
+        java.util.Set<Integer> seen = new java.util.HashSet<>(size * 2);
+        present = new Integer[size];
+        for (int i = 0; i < size; ) {
+            int k = random.nextInt();
+            if (seen.add(k)) {
+                present[i++] = k;
+            }
+        }
+        absent = new Integer[PROBES];
+        for (int i = 0; i < PROBES; ) {
+            int k = random.nextInt();
+            if (seen.add(k)) {
+                absent[i++] = k;
+            }
+        }
+        // random positions over all present keys, so large sizes are not measured on a few cache warm paths
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = random.nextInt(size);
+        }
+        added = new Integer[changes()];
+        for (int i = 0; i < added.length; ) {
+            int k = random.nextInt();
+            if (seen.add(k)) {
+                added[i++] = k;
+            }
+        }
+    }
+
+    protected Integer nextPresent() {
+        return present[probes[next()]];
+    }
+
+    protected Integer nextAbsent() {
+        return absent[next()];
+    }
+
+    private int next() {
+        probe = (probe + 1) % PROBES;
+        return probe;
+    }
+
+    // keys changed per branch in the compare and merge benchmarks
+    protected int changes() {
+        return Math.max(1, size / 100);
+    }
+}
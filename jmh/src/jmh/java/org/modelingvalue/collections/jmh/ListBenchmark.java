@@ -0,0 +1,184 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.impl.TreeCollectionImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// run with -DLIST_MULTI_MAX_LENGTH and -DLIST_UNBALANCE_TOLERATION (jmh jvmArgs) to see their effect on the tree shape,
+// the depth of the tree of every shape and size is printed at the start of each trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListBenchmark {
+
+    private static final int     PROBES    = 1024;
+    private static final Integer MINUS_ONE = -1;
+
+    public enum Shape {
+        APPENDED,
+        PREPENDED,
+        INSERTED
+    }
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int           size;
+
+    @Param({"APPENDED", "PREPENDED", "INSERTED"})
+    public Shape         shape;
+
+    private List<Integer> list;
+    private List<Integer> other;
+    private int[]         positions;
+    private int           probe;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(size);
+        list = build(shape, size, random);
+        other = build(shape, Math.max(1, size / 10), random);
+        positions = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            positions[i] = random.nextInt(size);
+        }
+        System.out.println("ListBenchmark shape=" + shape + " size=" + size + " depth=" + depth(list));
+    }
+
+    // the depth of the tree is internal, so it is read reflectively, only once per trial
+    static int depth(List<?> list) {
+        try {
+            Field value = TreeCollectionImpl.class.getDeclaredField("value");
+            Method depth = TreeCollectionImpl.class.getDeclaredMethod("depth", Object.class);
+            value.setAccessible(true);
+            depth.setAccessible(true);
+            return (byte) depth.invoke(null, value.get(list));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static List<Integer> build(Shape shape, int size, Random random) {
+        List<Integer> result = List.of();
+        for (int i = 0; i < size; i++) {
+            switch (shape) {
+            case APPENDED:
+                result = result.append(i);
+                break;
+            case PREPENDED:
+                result = result.prepend(i);
+                break;
+            default:
+                result = result.insert(random.nextInt(result.size() + 1), i);
+            }
+        }
+        return result;
+    }
+
+    private int nextPosition() {
+        probe = (probe + 1) % PROBES;
+        return positions[probe];
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(nextPosition());
+    }
+
+    @Benchmark
+    public void getAll(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public List<Integer> append() {
+        return list.append(-1);
+    }
+
+    @Benchmark
+    public List<Integer> prepend() {
+        return list.prepend(-1);
+    }
+
+    @Benchmark
+    public List<Integer> insert() {
+        return list.insert(nextPosition(), -1);
+    }
+
+    @Benchmark
+    public List<Integer> sublist() {
+        int a = nextPosition();
+        int b = nextPosition();
+        return list.sublist(Math.min(a, b), Math.max(a, b));
+    }
+
+    @Benchmark
+    public List<Integer> appendList() {
+        return list.appendList(other);
+    }
+
+    @Benchmark
+    public List<Integer> insertList() {
+        return list.insertList(nextPosition(), other);
+    }
+
+    @Benchmark
+    public List<Integer> removeIndex() {
+        return list.removeIndex(nextPosition());
+    }
+
+    @Benchmark
+    public List<Integer> replace() {
+        return list.replace(nextPosition(), MINUS_ONE);
+    }
+
+    @Benchmark
+    public List<Integer> replaceElement() {
+        return list.replace((Object) nextPosition(), MINUS_ONE);
+    }
+
+    @Benchmark
+    public int firstIndexOf() {
+        return list.firstIndexOf(nextPosition());
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return list.contains(nextPosition());
+    }
+}
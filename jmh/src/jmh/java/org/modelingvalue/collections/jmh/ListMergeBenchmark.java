@@ -0,0 +1,80 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.jmh.ListBenchmark.Shape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// merge and reuse of lists, kept apart from ListBenchmark because of their smaller size range
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListMergeBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int            size;
+
+    @Param({"APPENDED", "PREPENDED", "INSERTED"})
+    public Shape          shape;
+
+    private List<Integer> list;
+    private List<Integer> branch1;
+    private List<Integer> branch2;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(size);
+        list = ListBenchmark.build(shape, size, random);
+        int changes = Math.max(1, size / 100);
+        List<Integer> b1 = list;
+        List<Integer> b2 = list;
+        for (int i = 0; i < changes; i++) {
+            b1 = b1.insert(random.nextInt(b1.size() + 1), -i - 1);
+            b2 = b2.removeIndex(random.nextInt(b2.size()));
+        }
+        branch1 = b1;
+        branch2 = b2;
+    }
+
+    @Benchmark
+    public List<Integer> merge() {
+        return list.merge(branch1, branch2);
+    }
+
+    @Benchmark
+    public List<Integer> reuse() {
+        return list.reuse(branch2, Integer::equals, (r, t) -> {
+        }, r -> (long) r, (r, t) -> false, (id, t) -> t);
+    }
+}
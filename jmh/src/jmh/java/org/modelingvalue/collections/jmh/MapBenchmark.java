@@ -0,0 +1,149 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapBenchmark extends KeysState {
+
+    private Entry<Integer, Integer>[] entries;
+    private Map<Integer, Integer>     map;
+    private Map<Integer, Integer>     half;
+    private Map<Integer, Integer>     branch1;
+    private Map<Integer, Integer>     branch2;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() {
+        initKeys();
+        entries = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = Entry.of(present[i], i);
+        }
+        map = Map.of(entries);
+        Map<Integer, Integer> h = Map.of();
+        for (int i = 0; i < size; i += 2) {
+            h = h.put(present[i], -i);
+        }
+        half = h.put(absent[0], 0);
+        Map<Integer, Integer> b1 = map;
+        Map<Integer, Integer> b2 = map;
+        for (int i = 0; i < changes(); i++) {
+            b1 = b1.put(present[i], -i - 1);
+            b2 = b2.removeKey(present[size - 1 - i]).put(added[i], i);
+        }
+        branch1 = b1;
+        branch2 = b2;
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> put() {
+        return map.put(nextAbsent(), 0);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> putReplace() {
+        return map.put(nextPresent(), -1);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> removeKey() {
+        return map.removeKey(nextPresent());
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(nextPresent());
+    }
+
+    @Benchmark
+    public Integer getMissing() {
+        return map.get(nextAbsent());
+    }
+
+    @Benchmark
+    public boolean containsKey() {
+        return map.containsKey(nextPresent());
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> putAll() {
+        return map.putAll(half);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> build() {
+        return Map.of(entries);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Iterator<Entry<Integer, Integer>> it = map.iterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public void forEachKeyValue(Blackhole bh) {
+        map.sequential().forEach(e -> bh.consume(e.getValue()));
+    }
+
+    @Benchmark
+    public boolean equalsAfterUpdate() {
+        // the entry is put back on every call, equals merges shared subtrees so a copy made once would be identical soon
+        Integer k = nextPresent();
+        return map.removeKey(k).put(k, map.get(k)).equals(map);
+    }
+
+    @Benchmark
+    public int hashCodeMap() {
+        return map.hashCode();
+    }
+
+    @Benchmark
+    public long compare() {
+        return branch1.compare(branch2).count();
+    }
+
+    @Benchmark
+    public long diff() {
+        return branch1.diff(branch2).count();
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> merge() {
+        return map.merge(branch1, branch2);
+    }
+}
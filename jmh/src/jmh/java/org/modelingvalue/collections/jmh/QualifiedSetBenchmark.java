@@ -0,0 +1,132 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.modelingvalue.collections.Entry;
+import org.modelingvalue.collections.QualifiedSet;
+import org.modelingvalue.collections.util.SerializableFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QualifiedSetBenchmark extends KeysState {
+
+    private static final SerializableFunction<Entry<Integer, Integer>, Integer> QUALIFIER = Entry::getKey;
+
+    private Entry<Integer, Integer>[]                                   elements;
+    private QualifiedSet<Integer, Entry<Integer, Integer>>              set;
+    private QualifiedSet<Integer, Entry<Integer, Integer>>              half;
+    private QualifiedSet<Integer, Entry<Integer, Integer>>              branch1;
+    private QualifiedSet<Integer, Entry<Integer, Integer>>              branch2;
+
+    @SuppressWarnings("unchecked")
+    @Setup(Level.Trial)
+    public void setup() {
+        initKeys();
+        elements = new Entry[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = Entry.of(present[i], i);
+        }
+        set = QualifiedSet.of(QUALIFIER, elements);
+        QualifiedSet<Integer, Entry<Integer, Integer>> h = QualifiedSet.of(QUALIFIER);
+        for (int i = 0; i < size; i += 2) {
+            h = h.put(Entry.of(present[i], -i));
+        }
+        half = h.put(Entry.of(absent[0], 0));
+        QualifiedSet<Integer, Entry<Integer, Integer>> b1 = set;
+        QualifiedSet<Integer, Entry<Integer, Integer>> b2 = set;
+        for (int i = 0; i < changes(); i++) {
+            b1 = b1.put(Entry.of(present[i], -i - 1));
+            b2 = b2.removeKey(present[size - 1 - i]).put(Entry.of(added[i], i));
+        }
+        branch1 = b1;
+        branch2 = b2;
+    }
+
+    @Benchmark
+    public QualifiedSet<Integer, Entry<Integer, Integer>> put() {
+        return set.put(Entry.of(nextAbsent(), 0));
+    }
+
+    @Benchmark
+    public QualifiedSet<Integer, Entry<Integer, Integer>> removeKey() {
+        return set.removeKey(nextPresent());
+    }
+
+    @Benchmark
+    public Entry<Integer, Integer> get() {
+        return set.get(nextPresent());
+    }
+
+    @Benchmark
+    public Entry<Integer, Integer> getMissing() {
+        return set.get(nextAbsent());
+    }
+
+    @Benchmark
+    public QualifiedSet<Integer, Entry<Integer, Integer>> putAll() {
+        return set.putAll(half);
+    }
+
+    @Benchmark
+    public QualifiedSet<Integer, Entry<Integer, Integer>> build() {
+        return QualifiedSet.of(QUALIFIER, elements);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Iterator<Entry<Integer, Integer>> it = set.iterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public boolean equalsAfterUpdate() {
+        // remove and add again on every call, equals merges shared subtrees so a single copy would compare by identity
+        Integer k = nextPresent();
+        return set.removeKey(k).put(set.get(k)).equals(set);
+    }
+
+    @Benchmark
+    public int hashCodeSet() {
+        return set.hashCode();
+    }
+
+    @Benchmark
+    public long compare() {
+        return branch1.compare(branch2).count();
+    }
+
+    @Benchmark
+    public QualifiedSet<Integer, Entry<Integer, Integer>> merge() {
+        return set.merge(branch1, branch2);
+    }
+}
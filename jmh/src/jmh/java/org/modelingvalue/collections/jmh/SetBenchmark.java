@@ -0,0 +1,137 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.jmh;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.modelingvalue.collections.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SetBenchmark extends KeysState {
+
+    private Set<Integer> set;
+    private Set<Integer> half;
+    private Set<Integer> branch1;
+    private Set<Integer> branch2;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        initKeys();
+        set = Set.of(present);
+        Set<Integer> h = Set.of();
+        for (int i = 0; i < size; i += 2) {
+            h = h.add(present[i]);
+        }
+        half = h.add(absent[0]);
+        Set<Integer> b1 = set;
+        Set<Integer> b2 = set;
+        for (int i = 0; i < changes(); i++) {
+            b1 = b1.remove(present[i]);
+            b2 = b2.add(added[i]);
+        }
+        branch1 = b1;
+        branch2 = b2;
+    }
+
+    @Benchmark
+    public Set<Integer> add() {
+        return set.add(nextAbsent());
+    }
+
+    @Benchmark
+    public Set<Integer> addExisting() {
+        return set.add(nextPresent());
+    }
+
+    @Benchmark
+    public Set<Integer> remove() {
+        return set.remove(nextPresent());
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return set.contains(nextPresent());
+    }
+
+    @Benchmark
+    public boolean containsMissing() {
+        return set.contains(nextAbsent());
+    }
+
+    @Benchmark
+    public Set<Integer> addAll() {
+        return set.addAll(half);
+    }
+
+    @Benchmark
+    public Set<Integer> build() {
+        return Set.of(present);
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Iterator<Integer> it = set.iterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    public void forEach(Blackhole bh) {
+        set.sequential().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public boolean equalsAfterUpdate() {
+        // a fresh path copy on every call, a copy made once would soon compare by identity after equals merged it
+        Integer k = nextPresent();
+        return set.remove(k).add(k).equals(set);
+    }
+
+    @Benchmark
+    public boolean notEquals() {
+        return set.equals(branch2);
+    }
+
+    @Benchmark
+    public int hashCodeSet() {
+        return set.hashCode();
+    }
+
+    @Benchmark
+    public long compare() {
+        return branch1.compare(branch2).count();
+    }
+
+    @Benchmark
+    public Set<Integer> merge() {
+        return set.merge(branch1, branch2);
+    }
+}
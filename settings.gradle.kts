@@ -16,6 +16,7 @@
 rootProject.name = "immutable-collections"
 
 include("generator")
+include("jmh")
 
 plugins {
     id("com.gradle.enterprise") version ("3.5")
@@ -29,6 +29,9 @@ import java.util.stream.BaseStream;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import org.modelingvalue.collections.impl.IndexedListImpl;
+import org.modelingvalue.collections.impl.MapImpl;
+import org.modelingvalue.collections.impl.SetImpl;
 import org.modelingvalue.collections.impl.StreamCollectionImpl;
 import org.modelingvalue.collections.mutable.Mutable;
 import org.modelingvalue.collections.util.Mergeable;
@@ -102,6 +105,8 @@ public interface Collection<T> extends Stream<T>, Iterable<T>, Serializable {
 
     Collection<T> random();
 
+    Collection<T> sample(int k);
+
     @Override
     Collection<T> sorted(Comparator<? super T> comparator);
 
@@ -140,15 +145,27 @@ public interface Collection<T> extends Stream<T>, Iterable<T>, Serializable {
     void forEach(Consumer<? super T> action);
 
     default Set<T> toSet() {
-        return reduce(Set.of(), Set::add, Set::addAll);
+        return collect(Set::<T> builder, Set.Builder::add, Set.Builder::addAll).build();
     }
 
     default List<T> toList() {
-        return reduce(List.of(), List::append, List::appendList);
+        return collect(List::<T> builder, List.Builder::append, List.Builder::appendAll).build();
+    }
+
+    default IndexedList<T> toIndexedList() {
+        return IndexedListImpl.of(toList());
     }
 
     default <K, V> Map<K, V> toMap(Function<T, Entry<K, V>> entry) {
-        return reduce(Map.of(), (s, a) -> s.put(entry.apply(a)), Map::putAll);
+        return collect(Map::<K, V> builder, (b, a) -> b.put(entry.apply(a)), Map.Builder::putAll).build();
+    }
+
+    default Set<T> toSetParallel() {
+        return collect(SetImpl.ParallelBuilderImpl<T>::new, Set.Builder::add, Set.Builder::addAll).build();
+    }
+
+    default <K, V> Map<K, V> toMapParallel(Function<T, Entry<K, V>> entry) {
+        return collect(MapImpl.ParallelBuilderImpl<K, V>::new, (b, a) -> b.put(entry.apply(a)), Map.Builder::putAll).build();
     }
 
     default <K, V> DefaultMap<K, V> toDefaultMap(SerializableFunction<K, V> defaultFunction, Function<T, Entry<K, V>> entry) {
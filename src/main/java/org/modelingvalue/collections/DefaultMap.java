@@ -16,6 +16,7 @@
 package org.modelingvalue.collections;
 
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Predicate;
 
@@ -63,6 +64,8 @@ public interface DefaultMap<K, V> extends ContainingCollection<Entry<K, V>>, Mer
 
     DefaultMap<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate);
 
+    DefaultMap<K, V> mapValues(BiFunction<? super K, ? super V, ? extends V> function);
+
     <V2> DefaultMap<K, V> removeAllKey(DefaultMap<K, V2> m);
 
     void deduplicate(DefaultMap<K, V> other);
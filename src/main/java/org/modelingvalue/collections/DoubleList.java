@@ -0,0 +1,88 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+import org.modelingvalue.collections.impl.DoubleListImpl;
+
+public interface DoubleList extends Serializable {
+    static DoubleList of() {
+        return DoubleListImpl.EMPTY;
+    }
+
+    static DoubleList of(double... elements) {
+        return elements.length == 0 ? DoubleListImpl.EMPTY : DoubleListImpl.of(elements);
+    }
+
+    static DoubleList of(DoubleStream stream) {
+        return of(stream.toArray());
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    double get(int index);
+
+    double first();
+
+    double last();
+
+    DoubleList append(double e);
+
+    DoubleList prepend(double e);
+
+    DoubleList insert(int position, double e);
+
+    DoubleList appendList(DoubleList list);
+
+    DoubleList prependList(DoubleList list);
+
+    DoubleList insertList(int position, DoubleList list);
+
+    DoubleList replace(int position, double replacement);
+
+    DoubleList sublist(int beginIndex, int endIndex);
+
+    DoubleList removeFirst();
+
+    DoubleList removeLast();
+
+    DoubleList removeIndex(int position);
+
+    DoubleList removeList(int beginIndex, int endIndex);
+
+    int firstIndexOf(double e);
+
+    int lastIndexOf(double e);
+
+    boolean contains(double e);
+
+    PrimitiveIterator.OfDouble iterator();
+
+    DoubleStream stream();
+
+    void forEach(DoubleConsumer action);
+
+    double[] toArray();
+
+    DoubleList clear();
+
+}
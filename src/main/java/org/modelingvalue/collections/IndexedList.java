@@ -0,0 +1,116 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.util.function.Predicate;
+
+import org.modelingvalue.collections.impl.IndexedListImpl;
+
+@SuppressWarnings("unused")
+public interface IndexedList<T> extends List<T> {
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    static <T> IndexedList<T> of(T... e) {
+        return e.length == 0 ? IndexedListImpl.EMPTY : new IndexedListImpl<>(e);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> IndexedList<T> of(java.util.Collection<? extends T> coll) {
+        return coll.isEmpty() ? IndexedListImpl.EMPTY : new IndexedListImpl<>(coll);
+    }
+
+    int count(Object element);
+
+    @Override
+    IndexedList<T> sublist(int beginIndex, int endIndex);
+
+    @Override
+    IndexedList<T> append(T e);
+
+    @Override
+    IndexedList<T> prepend(T e);
+
+    @Override
+    IndexedList<T> appendList(List<? extends T> inserted);
+
+    @Override
+    IndexedList<T> prependList(List<? extends T> inserted);
+
+    @Override
+    IndexedList<T> removeFirst();
+
+    @Override
+    IndexedList<T> removeLast();
+
+    @Override
+    IndexedList<T> removeAllFirst(int length);
+
+    @Override
+    IndexedList<T> removeAllLast(int length);
+
+    @Override
+    IndexedList<T> insert(int position, T inserted);
+
+    @Override
+    IndexedList<T> replace(int position, T inserted);
+
+    @Override
+    IndexedList<T> removeIndex(int position);
+
+    @Override
+    IndexedList<T> insertList(int position, List<? extends T> inserted);
+
+    @Override
+    IndexedList<T> replaceList(int begin, int end, List<? extends T> inserted);
+
+    @Override
+    IndexedList<T> removeList(int begin, int end);
+
+    @Override
+    IndexedList<T> replace(Object pre, T post);
+
+    @Override
+    IndexedList<T> replaceFirst(Object pre, T post);
+
+    @Override
+    IndexedList<T> remove(Object e);
+
+    @Override
+    IndexedList<T> removeAll(Collection<?> e);
+
+    @Override
+    IndexedList<T> retainAll(Collection<?> c);
+
+    @Override
+    IndexedList<T> removeIf(Predicate<? super T> predicate);
+
+    @Override
+    IndexedList<T> add(T e);
+
+    @Override
+    IndexedList<T> addAll(Collection<? extends T> e);
+
+    @Override
+    IndexedList<T> addUnique(T e);
+
+    @Override
+    IndexedList<T> addAllUnique(Collection<? extends T> es);
+
+    @Override
+    IndexedList<T> clear();
+
+}
@@ -0,0 +1,88 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.modelingvalue.collections.impl.IntListImpl;
+
+public interface IntList extends Serializable {
+    static IntList of() {
+        return IntListImpl.EMPTY;
+    }
+
+    static IntList of(int... elements) {
+        return elements.length == 0 ? IntListImpl.EMPTY : IntListImpl.of(elements);
+    }
+
+    static IntList of(IntStream stream) {
+        return of(stream.toArray());
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    int get(int index);
+
+    int first();
+
+    int last();
+
+    IntList append(int e);
+
+    IntList prepend(int e);
+
+    IntList insert(int position, int e);
+
+    IntList appendList(IntList list);
+
+    IntList prependList(IntList list);
+
+    IntList insertList(int position, IntList list);
+
+    IntList replace(int position, int replacement);
+
+    IntList sublist(int beginIndex, int endIndex);
+
+    IntList removeFirst();
+
+    IntList removeLast();
+
+    IntList removeIndex(int position);
+
+    IntList removeList(int beginIndex, int endIndex);
+
+    int firstIndexOf(int e);
+
+    int lastIndexOf(int e);
+
+    boolean contains(int e);
+
+    PrimitiveIterator.OfInt iterator();
+
+    IntStream stream();
+
+    void forEach(IntConsumer action);
+
+    int[] toArray();
+
+    IntList clear();
+
+}
@@ -0,0 +1,59 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+
+import org.modelingvalue.collections.impl.IntObjMapImpl;
+import org.modelingvalue.collections.util.IntObjConsumer;
+import org.modelingvalue.collections.util.Mergeable;
+import org.modelingvalue.collections.util.Pair;
+
+public interface IntObjMap<V> extends Mergeable<IntObjMap<V>>, Serializable {
+    @SuppressWarnings("unchecked")
+    static <V> IntObjMap<V> of() {
+        return IntObjMapImpl.EMPTY;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(int key);
+
+    V get(int key);
+
+    V getOrDefault(int key, V defaultValue);
+
+    IntObjMap<V> put(int key, V value);
+
+    IntObjMap<V> removeKey(int key);
+
+    IntObjMap<V> putAll(IntObjMap<? extends V> c);
+
+    IntObjMap<V> removeAllKey(IntSet keys);
+
+    IntObjMap<Pair<V, V>> diff(IntObjMap<V> other);
+
+    IntSet toKeys();
+
+    Collection<V> toValues();
+
+    void forEach(IntObjConsumer<? super V> action);
+
+    IntObjMap<V> clear();
+
+}
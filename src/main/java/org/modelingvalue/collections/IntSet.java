@@ -0,0 +1,69 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.modelingvalue.collections.impl.IntSetImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+public interface IntSet extends Mergeable<IntSet>, Serializable {
+    static IntSet of() {
+        return IntSetImpl.EMPTY;
+    }
+
+    static IntSet of(int... elements) {
+        return elements.length == 0 ? IntSetImpl.EMPTY : IntSetImpl.of(elements);
+    }
+
+    static IntSet of(IntStream stream) {
+        return of(stream.toArray());
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(int e);
+
+    boolean containsAll(IntSet c);
+
+    IntSet add(int e);
+
+    IntSet remove(int e);
+
+    IntSet addAll(IntSet c);
+
+    IntSet removeAll(IntSet c);
+
+    IntSet retainAll(IntSet c);
+
+    IntSet[] compare(IntSet other);
+
+    PrimitiveIterator.OfInt iterator();
+
+    IntStream stream();
+
+    void forEach(IntConsumer action);
+
+    int[] toArray();
+
+    IntSet clear();
+
+}
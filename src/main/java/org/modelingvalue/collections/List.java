@@ -18,6 +18,7 @@ package org.modelingvalue.collections;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.modelingvalue.collections.impl.ListImpl;
 import org.modelingvalue.collections.mutable.MutableList;
@@ -46,6 +47,10 @@ public interface List<T> extends ContainingCollection<T>, Mergeable<List<T>> {
         return coll.isEmpty() ? ListImpl.EMPTY : new ListImpl<>(coll);
     }
 
+    static <T> Builder<T> builder() {
+        return new ListImpl.BuilderImpl<>();
+    }
+
     @Override
     T get(int index);
 
@@ -130,6 +135,10 @@ public interface List<T> extends ContainingCollection<T>, Mergeable<List<T>> {
     @Override
     List<T> removeAll(Collection<?> e);
 
+    List<T> retainAll(Collection<?> c);
+
+    List<T> removeIf(Predicate<? super T> predicate);
+
     @Override
     List<T> add(T e);
 
@@ -138,6 +147,8 @@ public interface List<T> extends ContainingCollection<T>, Mergeable<List<T>> {
 
     <R> List<R> reuse(List<R> reused, BiFunction<R, T, Boolean> matcher, BiConsumer<R, T> changer, Function<R, Long> identity, BiFunction<R, T, Boolean> resuable, BiFunction<Long, T, R> constructor);
 
+    <K, R> List<R> reuse(List<R> reused, Function<R, K> sourceKey, Function<T, K> targetKey, BiConsumer<R, T> changer, Function<R, Long> identity, BiFunction<R, T, Boolean> resuable, BiFunction<Long, T, R> constructor);
+
     @Override
     List<T> addUnique(T e);
 
@@ -149,6 +160,17 @@ public interface List<T> extends ContainingCollection<T>, Mergeable<List<T>> {
 
     java.util.List<T> toMutable();
 
+    interface Builder<T> {
+
+        Builder<T> append(T e);
+
+        Builder<T> appendAll(Iterable<? extends T> es);
+
+        Builder<T> appendAll(Builder<? extends T> other);
+
+        List<T> build();
+    }
+
     static <E> List<E> fromMutable(java.util.Collection<E> mutable) {
         return mutable instanceof MutableList ? ((MutableList<E>) mutable).toImmutable() : Collection.of(mutable).toList();
     }
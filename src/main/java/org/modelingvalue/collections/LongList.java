@@ -0,0 +1,88 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import org.modelingvalue.collections.impl.LongListImpl;
+
+public interface LongList extends Serializable {
+    static LongList of() {
+        return LongListImpl.EMPTY;
+    }
+
+    static LongList of(long... elements) {
+        return elements.length == 0 ? LongListImpl.EMPTY : LongListImpl.of(elements);
+    }
+
+    static LongList of(LongStream stream) {
+        return of(stream.toArray());
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    long get(int index);
+
+    long first();
+
+    long last();
+
+    LongList append(long e);
+
+    LongList prepend(long e);
+
+    LongList insert(int position, long e);
+
+    LongList appendList(LongList list);
+
+    LongList prependList(LongList list);
+
+    LongList insertList(int position, LongList list);
+
+    LongList replace(int position, long replacement);
+
+    LongList sublist(int beginIndex, int endIndex);
+
+    LongList removeFirst();
+
+    LongList removeLast();
+
+    LongList removeIndex(int position);
+
+    LongList removeList(int beginIndex, int endIndex);
+
+    int firstIndexOf(long e);
+
+    int lastIndexOf(long e);
+
+    boolean contains(long e);
+
+    PrimitiveIterator.OfLong iterator();
+
+    LongStream stream();
+
+    void forEach(LongConsumer action);
+
+    long[] toArray();
+
+    LongList clear();
+
+}
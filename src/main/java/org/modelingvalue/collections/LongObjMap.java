@@ -0,0 +1,59 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+
+import org.modelingvalue.collections.impl.LongObjMapImpl;
+import org.modelingvalue.collections.util.LongObjConsumer;
+import org.modelingvalue.collections.util.Mergeable;
+import org.modelingvalue.collections.util.Pair;
+
+public interface LongObjMap<V> extends Mergeable<LongObjMap<V>>, Serializable {
+    @SuppressWarnings("unchecked")
+    static <V> LongObjMap<V> of() {
+        return LongObjMapImpl.EMPTY;
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean containsKey(long key);
+
+    V get(long key);
+
+    V getOrDefault(long key, V defaultValue);
+
+    LongObjMap<V> put(long key, V value);
+
+    LongObjMap<V> removeKey(long key);
+
+    LongObjMap<V> putAll(LongObjMap<? extends V> c);
+
+    LongObjMap<V> removeAllKey(LongSet keys);
+
+    LongObjMap<Pair<V, V>> diff(LongObjMap<V> other);
+
+    LongSet toKeys();
+
+    Collection<V> toValues();
+
+    void forEach(LongObjConsumer<? super V> action);
+
+    LongObjMap<V> clear();
+
+}
@@ -0,0 +1,69 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections;
+
+import java.io.Serializable;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import org.modelingvalue.collections.impl.LongSetImpl;
+import org.modelingvalue.collections.util.Mergeable;
+
+public interface LongSet extends Mergeable<LongSet>, Serializable {
+    static LongSet of() {
+        return LongSetImpl.EMPTY;
+    }
+
+    static LongSet of(long... elements) {
+        return elements.length == 0 ? LongSetImpl.EMPTY : LongSetImpl.of(elements);
+    }
+
+    static LongSet of(LongStream stream) {
+        return of(stream.toArray());
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(long e);
+
+    boolean containsAll(LongSet c);
+
+    LongSet add(long e);
+
+    LongSet remove(long e);
+
+    LongSet addAll(LongSet c);
+
+    LongSet removeAll(LongSet c);
+
+    LongSet retainAll(LongSet c);
+
+    LongSet[] compare(LongSet other);
+
+    PrimitiveIterator.OfLong iterator();
+
+    LongStream stream();
+
+    void forEach(LongConsumer action);
+
+    long[] toArray();
+
+    LongSet clear();
+
+}
@@ -40,6 +40,10 @@ public interface Map<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<
         }
     }
 
+    static <K, V> Builder<K, V> builder() {
+        return new MapImpl.BuilderImpl<>();
+    }
+
     V get(K key);
 
     V getOrDefault(K key, V defaultValue);
@@ -88,6 +92,8 @@ public interface Map<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<
 
     Map<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate);
 
+    <W> Map<K, W> mapValues(BiFunction<? super K, ? super V, ? extends W> function);
+
     <V2> Map<K, V> removeAllKey(Map<K, V2> m);
 
     void deduplicate(Map<K, V> other);
@@ -122,6 +128,19 @@ public interface Map<K, V> extends ContainingCollection<Entry<K, V>>, Mergeable<
 
     java.util.Map<K, V> toMutable();
 
+    interface Builder<K, V> {
+
+        Builder<K, V> put(K key, V value);
+
+        Builder<K, V> put(Entry<K, V> entry);
+
+        Builder<K, V> putAll(Iterable<? extends Entry<K, V>> entries);
+
+        Builder<K, V> putAll(Builder<K, V> other);
+
+        Map<K, V> build();
+    }
+
     static <S, E> Map<S, E> fromMutable(java.util.Map<S, E> mutable) {
         return mutable instanceof MutableMap ? ((MutableMap<S, E>) mutable).toImmutable() : Collection.of(mutable.entrySet()).toMap(e -> Entry.of(e.getKey(), e.getValue()));
     }
@@ -58,8 +58,14 @@ public interface Set<T> extends ContainingCollection<T>, Mergeable<Set<T>> {
         return coll.isEmpty() ? SetImpl.EMPTY : new SetImpl<>(coll);
     }
 
+    static <T> Builder<T> builder() {
+        return new SetImpl.BuilderImpl<>();
+    }
+
     boolean containsAll(Collection<?> c);
 
+    boolean intersects(Collection<?> c);
+
     @Override
     Set<T> replace(Object pre, T post);
 
@@ -91,6 +97,17 @@ public interface Set<T> extends ContainingCollection<T>, Mergeable<Set<T>> {
 
     java.util.Set<T> toMutable();
 
+    interface Builder<T> {
+
+        Builder<T> add(T e);
+
+        Builder<T> addAll(Iterable<? extends T> es);
+
+        Builder<T> addAll(Builder<? extends T> other);
+
+        Set<T> build();
+    }
+
     static <E> Set<E> fromMutable(java.util.Collection<E> mutable) {
         return mutable instanceof MutableSet ? ((MutableSet<E>) mutable).toImmutable() : Collection.of(mutable).toSet();
     }
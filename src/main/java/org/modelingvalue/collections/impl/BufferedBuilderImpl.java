@@ -0,0 +1,56 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Arrays;
+
+abstract class BufferedBuilderImpl {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected Object[]       buffer           = new Object[INITIAL_CAPACITY];
+    protected int            length;
+
+    protected void push(Object e) {
+        if (length == buffer.length) {
+            buffer = Arrays.copyOf(buffer, length + (length >> 1));
+        }
+        buffer[length++] = e;
+    }
+
+    protected void pushAll(Iterable<?> es) {
+        if (es instanceof java.util.Collection) {
+            ensureCapacity(length + ((java.util.Collection<?>) es).size());
+        } else if (es instanceof TreeCollectionImpl) {
+            ensureCapacity(length + ((TreeCollectionImpl<?>) es).size());
+        }
+        for (Object e : es) {
+            push(e);
+        }
+    }
+
+    protected void pushAll(BufferedBuilderImpl other) {
+        ensureCapacity(length + other.length);
+        System.arraycopy(other.buffer, 0, buffer, length, other.length);
+        length += other.length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, length + (length >> 1)));
+        }
+    }
+}
@@ -16,9 +16,13 @@
 package org.modelingvalue.collections.impl;
 
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -36,6 +40,7 @@ import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.util.ContextThread;
@@ -473,8 +478,106 @@ public abstract class CollectionImpl<T> implements Collection<T> {
 
     @Override
     public Collection<T> random() {
-        int r = ThreadLocalRandom.current().nextInt();
-        return new StreamCollectionImpl<>(baseStream().sorted(Comparator.comparingInt(a -> a.hashCode() ^ r)));
+        return new StreamCollectionImpl<>(StreamSupport.stream(() -> {
+            Object[] es = baseStream().toArray();
+            return shuffled(es, es.length);
+        }, RandomSpliterator.RANDOM_CHARACTERISTICS, isParallel()));
+    }
+
+    @Override
+    public Collection<T> sample(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
+        return new StreamCollectionImpl<>(StreamSupport.stream(() -> {
+            Object[] reservoir = new Object[k];
+            int n = 0;
+            for (Iterator<T> it = baseStream().iterator(); it.hasNext(); n++) {
+                T e = it.next();
+                int i = n < k ? n : ThreadLocalRandom.current().nextInt(n + 1);
+                if (i < k) {
+                    reservoir[i] = e;
+                }
+            }
+            return shuffled(reservoir, Math.min(n, k));
+        }, RandomSpliterator.RANDOM_CHARACTERISTICS, isParallel()));
+    }
+
+    // the array is owned by the caller, so it is shuffled in place
+    @SuppressWarnings("unchecked")
+    private static <T> Spliterator<T> shuffled(Object[] es, int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object e = es[i];
+            es[i] = es[j];
+            es[j] = e;
+        }
+        return (Spliterator<T>) Spliterators.spliterator(es, 0, length, RandomSpliterator.RANDOM_CHARACTERISTICS);
+    }
+
+    // a lazy Fisher-Yates shuffle of the positions 0 to size, a small sample only records the positions it swapped
+    protected static final class RandomSpliterator<T> implements Spliterator<T> {
+        protected static final int RANDOM_CHARACTERISTICS = Spliterator.SIZED | Spliterator.IMMUTABLE;
+        private static final int   SPARSE_FRACTION        = 16;
+
+        private final IntFunction<T>                  getter;
+        private final int[]                           positions;
+        private final java.util.Map<Integer, Integer> swapped;
+        private       int                             size, count;
+
+        protected RandomSpliterator(IntFunction<T> getter, int size, int count) {
+            this.getter = getter;
+            this.size   = size;
+            this.count  = count;
+            if (count < size / SPARSE_FRACTION) {
+                positions = null;
+                swapped   = new HashMap<>();
+            } else {
+                positions = new int[size];
+                swapped   = null;
+                for (int i = 0; i < size; i++) {
+                    positions[i] = i;
+                }
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (count > 0) {
+                int i = ThreadLocalRandom.current().nextInt(size--);
+                int picked;
+                if (positions != null) {
+                    picked = positions[i];
+                    positions[i] = positions[size];
+                } else {
+                    picked = swapped.getOrDefault(i, i);
+                    Integer last = swapped.remove(size);
+                    if (i < size) {
+                        swapped.put(i, last != null ? last : size);
+                    }
+                }
+                count--;
+                action.accept(getter.apply(picked));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return count;
+        }
+
+        @Override
+        public int characteristics() {
+            return RANDOM_CHARACTERISTICS;
+        }
     }
 
     @Override
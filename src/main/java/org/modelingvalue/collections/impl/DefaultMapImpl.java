@@ -21,6 +21,7 @@ import java.io.ObjectOutputStream;
 import java.util.Objects;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -46,7 +47,7 @@ public class DefaultMapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implem
 
     @SuppressWarnings({"rawtypes", "unchecked"})
     public DefaultMapImpl(Entry[] es, SerializableFunction<K, V> defaultFunction) {
-        this.value = es.length == 1 ? es[0] : putAll(null, key(), es);
+        this.value = build(key(), es, true);
         this.defaultFunction = defaultFunction.of();
     }
 
@@ -316,9 +317,20 @@ public class DefaultMapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implem
         return DefaultMap.class;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public DefaultMap<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate) {
-        return filter(e -> keyPredicate.test(e.getKey()) && valuePredicate.test(e.getValue())).toDefaultMap(defaultFunction, Function.identity());
+        return create(replaceAll(value, e -> keyPredicate.test(((Entry<K, V>) e).getKey()) && valuePredicate.test(((Entry<K, V>) e).getValue()) ? e : null, isParallel()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public DefaultMap<K, V> mapValues(BiFunction<? super K, ? super V, ? extends V> function) {
+        return create(replaceAll(value, e -> {
+            Entry<K, V> entry = (Entry<K, V>) e;
+            V val = function.apply(entry.getKey(), entry.getValue());
+            return val == entry.getValue() ? entry : Objects.equals(val, defaultFunction.apply(entry.getKey())) ? null : Entry.of(entry.getKey(), val);
+        }, isParallel()));
     }
 
     @Override
@@ -328,7 +340,11 @@ public class DefaultMapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implem
 
     @Override
     public void forEach(BiConsumer<K, V> action) {
-        forEach(e -> action.accept(e.getKey(), e.getValue()));
+        if (isParallel() && !SEQUENTIAL_ONLY.get()) {
+            forEach(e -> action.accept(e.getKey(), e.getValue()));
+        } else {
+            forEachEntry(value, action);
+        }
     }
 
     private void writeObject(ObjectOutputStream s) throws IOException {
@@ -0,0 +1,152 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+
+import org.modelingvalue.collections.DoubleList;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class DoubleListImpl extends PrimitiveListImpl<DoubleList> implements DoubleList {
+
+    private static final long      serialVersionUID = -913726553870513958L;
+
+    public static final DoubleList EMPTY            = new DoubleListImpl(null);
+
+    public static DoubleList of(double[] elements) {
+        return new DoubleListImpl(chunked(elements));
+    }
+
+    public DoubleListImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected DoubleList create(Object val) {
+        return val != value ? (val == null ? EMPTY : new DoubleListImpl(val)) : this;
+    }
+
+    @Override
+    protected Object newArray(int length) {
+        return new double[length];
+    }
+
+    @Override
+    public double get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return getDouble(value, index);
+    }
+
+    @Override
+    public double first() {
+        return get(0);
+    }
+
+    @Override
+    public double last() {
+        return get(size() - 1);
+    }
+
+    @Override
+    public DoubleList append(double e) {
+        return insert(size(), e);
+    }
+
+    @Override
+    public DoubleList prepend(double e) {
+        return insert(0, e);
+    }
+
+    @Override
+    public DoubleList insert(int position, double e) {
+        return insertSingle(position, new double[]{e});
+    }
+
+    @Override
+    public DoubleList replace(int position, double replacement) {
+        return replaceSingle(position, new double[]{replacement});
+    }
+
+    @Override
+    public int firstIndexOf(double e) {
+        return firstIndexOf(new double[]{e});
+    }
+
+    @Override
+    public int lastIndexOf(double e) {
+        return lastIndexOf(new double[]{e});
+    }
+
+    @Override
+    public boolean contains(double e) {
+        return firstIndexOf(e) >= 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return new Iterator(value);
+    }
+
+    private static final class Iterator extends ChunkIterator implements PrimitiveIterator.OfDouble {
+        private Iterator(Object value) {
+            super(value);
+        }
+
+        @Override
+        public double nextDouble() {
+            int i = advance();
+            return ((double[]) chunk())[i];
+        }
+    }
+
+    @Override
+    public DoubleStream stream() {
+        return Arrays.stream(chunks(value)).flatMapToDouble(c -> Arrays.stream((double[]) c));
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        forEachChunk(value, c -> {
+            for (double e : (double[]) c) {
+                action.accept(e);
+            }
+        });
+    }
+
+    @Override
+    public double[] toArray() {
+        return (double[]) array();
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private static DoubleList deserialize(Deserializer s) {
+        DoubleListImpl list = new DoubleListImpl(null);
+        list.javaDeserialize(s);
+        return list.isEmpty() ? EMPTY : list;
+    }
+
+}
@@ -15,9 +15,12 @@
 
 package org.modelingvalue.collections.impl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -25,6 +28,7 @@ import java.util.function.Function;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.ContainingCollection;
+import org.modelingvalue.collections.Entry;
 import org.modelingvalue.collections.StreamCollection;
 import org.modelingvalue.collections.util.Age;
 import org.modelingvalue.collections.util.Concurrent;
@@ -38,6 +42,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
     private static final long                      serialVersionUID             = 3453919290764033219L;
 
     private static final int                       EQUAL_HASHCODE_WARNING_LEVEL = Integer.getInteger("EQUAL_HASHCODE_WARNING_LEVEL", 16);
+    private static final int                       EQUAL_HASHCODE_SORT_LEVEL    = Integer.getInteger("EQUAL_HASHCODE_SORT_LEVEL", 8);
 
     @SuppressWarnings("rawtypes")
     private static final BiFunction                RETURN_2                     = (v1, v2) -> v1.equals(v2) ? v1 : v2;
@@ -141,11 +146,11 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
     }
 
-    private static final class HashMultiValue extends MultiValue {
+    private static class HashMultiValue extends MultiValue {
         private static final long serialVersionUID = 3238646981697101095L;
-        private final int         index;
-        private final byte        level;
-        private final long        mask;
+        protected final int       index;
+        protected final byte      level;
+        protected final long      mask;
 
         private HashMultiValue(Object[] values, int size, int hash, byte depth, int index, byte level, long mask) {
             super(values, size, hash, depth);
@@ -249,20 +254,55 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
             return new HashMultiValue(new Object[]{v1, v2}, size(v1) + size(v2), hash(v1) + hash(v2), (byte) (max(depth(v1), depth(v2)) + 1), index, level, newMask);
         }
 
-        private static HashMultiValue of(Object v1, Object v2, int index) {
-            return new HashMultiValue(new Object[]{v1, v2}, 2, index * 2, (byte) 2, index, NR_OF_PARTS, 3);
+        @SuppressWarnings("rawtypes")
+        private Object checkHashIntegrity(Function key) {
+            if (level == NR_OF_PARTS) {
+                for (Object v : values) {
+                    int vi = index(v, key);
+                    if (vi != index) {
+                        return v;
+                    }
+                }
+            } else {
+                int im = INDEX_MASKS[level];
+                int pi = Long.numberOfTrailingZeros(mask);
+                for (Object v : values) {
+                    int vi = index(v, key) & im;
+                    int ii = pi << PART_SHIFTS[level];
+                    if (vi != (index | ii)) {
+                        return v;
+                    } else if (v instanceof HashMultiValue) {
+                        Object wrong = ((HashMultiValue) v).checkHashIntegrity(key);
+                        if (wrong != null) {
+                            return wrong;
+                        }
+                    }
+                    pi += Long.numberOfTrailingZeros(mask >>> (pi + 1)) + 1;
+                }
+            }
+            return null;
+        }
+    }
+
+    // A node of elements with equal hashes, at the last level
+    private static final class EqualHashesValue extends HashMultiValue {
+        private static final long serialVersionUID = -2714580834519218640L;
+        // only used on large nodes, built on the first lookup
+        private transient SortedKeys sorted;
+
+        private EqualHashesValue(Object[] values, int index) {
+            super(values, values.length, values.length * index, (byte) 2, index, NR_OF_PARTS, 0);
+        }
+
+        private static EqualHashesValue of(Object v1, Object v2, int index) {
+            return new EqualHashesValue(new Object[]{v1, v2}, index);
         }
 
         @SuppressWarnings({"unchecked", "rawtypes"})
         private Object set(Function key, Object find, Object set) {
-            assert (level == NR_OF_PARTS);
-            int si = values.length;
-            for (int i = 0; i < values.length; i++) {
-                if (key.apply(values[i]).equals(find)) {
-                    si = i;
-                    break;
-                }
-            }
+            int si = find(key, find);
+            si = si < 0 ? values.length : si;
+            SortedKeys keys = sorted != null && sorted.key == key ? sorted : null;
             if (set == null) {
                 if (si == values.length) {
                     return this;
@@ -272,7 +312,9 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                     Object[] result = new Object[values.length - 1];
                     System.arraycopy(values, 0, result, 0, si);
                     System.arraycopy(values, si + 1, result, si, values.length - si - 1);
-                    return new HashMultiValue(result, result.length, hash - index, (byte) 2, index, NR_OF_PARTS, mask & ~(1L << values.length));
+                    EqualHashesValue mv = new EqualHashesValue(result, index);
+                    mv.sorted = keys != null ? keys.remove(si) : null;
+                    return mv;
                 }
             } else if (si != values.length && values[si].equals(set)) {
                 return this;
@@ -284,37 +326,170 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                     System.err.println("WARNING: " + result.length + " non equal objects with equal hashcode " + //
                             StringUtil.toString(Arrays.copyOf(result, EQUAL_HASHCODE_WARNING_LEVEL)));
                 }
-                return new HashMultiValue(result, result.length, result.length * index, (byte) 2, index, NR_OF_PARTS, si == values.length ? mask | 1L << si : mask);
+                EqualHashesValue mv = new EqualHashesValue(result, index);
+                // a replaced element has an equal key, so the sorted keys stay valid
+                mv.sorted = keys == null ? null : si == values.length ? keys.insert(find, si) : keys;
+                return mv;
+            }
+        }
+
+        // sets one element in this node of equal hashes, keeping all other elements and the sorted keys
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Object setOne(Function key, Object val, Function valKey, Function set, BiFunction set12, boolean flip) {
+            Object find = valKey.apply(val), e;
+            int it = find(key, find);
+            if (it >= 0) {
+                e = flip ? set12.apply(val, values[it]) : set12.apply(values[it], val);
+            } else {
+                e = set.apply(val);
             }
+            return it < 0 && e == null ? this : set(key, find, e);
         }
 
+        // position of the element with the given key, by binary search on the keys of large nodes of equal hashes
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private int find(Function key, Object find) {
+            if (values.length >= EQUAL_HASHCODE_SORT_LEVEL) {
+                SortedKeys keys = sorted;
+                if (keys == null || keys.key != key) {
+                    sorted = keys = SortedKeys.of(key, values);
+                }
+                int it = keys.find(find);
+                if (it != SortedKeys.UNSORTED) {
+                    return it;
+                }
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (key.apply(values[i]).equals(find)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    // The keys of a node of equal hashes in Comparable order, with the position of their element
+    private static final class SortedKeys {
+        private static final int UNSORTED = -2;
+
         @SuppressWarnings("rawtypes")
-        private Object checkHashIntegrity(Function key) {
-            if (level == NR_OF_PARTS) {
-                for (Object v : values) {
-                    int vi = index(v, key);
-                    if (vi != index) {
-                        return v;
-                    }
+        private final Function   key;
+        // null if the keys are not all Comparable instances of one class
+        private final Class<?>   type;
+        private final Object[]   keys;
+        private final int[]      its;
+
+        @SuppressWarnings("rawtypes")
+        private SortedKeys(Function key, Class<?> type, Object[] keys, int[] its) {
+            this.key = key;
+            this.type = type;
+            this.keys = keys;
+            this.its = its;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static SortedKeys of(Function key, Object[] values) {
+            Object[] keys = new Object[values.length];
+            Class<?> type = null;
+            for (int i = 0; i < values.length; i++) {
+                keys[i] = key.apply(values[i]);
+                type = i == 0 ? keys[0].getClass() : type;
+                if (!(keys[i] instanceof Comparable) || keys[i].getClass() != type) {
+                    return new SortedKeys(key, null, null, null);
                 }
-            } else {
-                int im = INDEX_MASKS[level];
-                int pi = Long.numberOfTrailingZeros(mask);
-                for (Object v : values) {
-                    int vi = index(v, key) & im;
-                    int ii = pi << PART_SHIFTS[level];
-                    if (vi != (index | ii)) {
-                        return v;
-                    } else if (v instanceof HashMultiValue) {
-                        Object wrong = ((HashMultiValue) v).checkHashIntegrity(key);
-                        if (wrong != null) {
-                            return wrong;
+            }
+            Integer[] order = new Integer[keys.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> ((Comparable) keys[a]).compareTo(keys[b]));
+            Object[] sortedKeys = new Object[keys.length];
+            int[] its = new int[keys.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys[order[i]];
+                its[i] = order[i];
+            }
+            return new SortedKeys(key, type, sortedKeys, its);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private int find(Object find) {
+            if (type == null || find.getClass() != type) {
+                return UNSORTED;
+            }
+            int lo = 0, hi = keys.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1, c = ((Comparable) keys[mid]).compareTo(find);
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    // compareTo may be inconsistent with equals, so all keys that compare equal are candidates
+                    for (int i = mid; i >= 0 && ((Comparable) keys[i]).compareTo(find) == 0; i--) {
+                        if (keys[i].equals(find)) {
+                            return its[i];
                         }
                     }
-                    pi += Long.numberOfTrailingZeros(mask >>> (pi + 1)) + 1;
+                    for (int i = mid + 1; i < keys.length && ((Comparable) keys[i]).compareTo(find) == 0; i++) {
+                        if (keys[i].equals(find)) {
+                            return its[i];
+                        }
+                    }
+                    return -1;
                 }
             }
-            return null;
+            return -1;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private SortedKeys insert(Object k, int it) {
+            if (type == null || k.getClass() != type) {
+                return new SortedKeys(key, null, null, null);
+            }
+            int lo = 0, hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (((Comparable) keys[mid]).compareTo(k) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            Object[] newKeys = new Object[keys.length + 1];
+            int[] newIts = new int[its.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, lo);
+            System.arraycopy(its, 0, newIts, 0, lo);
+            newKeys[lo] = k;
+            newIts[lo] = it;
+            System.arraycopy(keys, lo, newKeys, lo + 1, keys.length - lo);
+            System.arraycopy(its, lo, newIts, lo + 1, its.length - lo);
+            return new SortedKeys(key, type, newKeys, newIts);
+        }
+
+        private SortedKeys remove(int it) {
+            if (type == null) {
+                return this;
+            }
+            Object[] newKeys = new Object[keys.length - 1];
+            int[] newIts = new int[its.length - 1];
+            for (int i = 0, n = 0; i < keys.length; i++) {
+                if (its[i] != it) {
+                    newKeys[n] = keys[i];
+                    newIts[n++] = its[i] > it ? its[i] - 1 : its[i];
+                }
+            }
+            return new SortedKeys(key, type, newKeys, newIts);
+        }
+    }
+
+    // position of the element with the given key in an element or a node of equal hashes, or -1
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int find(Object v, Function key, Object find) {
+        if (v instanceof HashMultiValue) {
+            return ((EqualHashesValue) v).find(key, find);
+        } else {
+            return v != null && key.apply(v).equals(find) ? 0 : -1;
         }
     }
 
@@ -354,6 +529,167 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         return value;
     }
 
+    @SuppressWarnings("rawtypes")
+    protected static Object build(Function key, Object[] es, boolean replace) {
+        return build(key, es, es.length, replace);
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected static Object build(Function key, java.util.Collection<?> es, boolean replace) {
+        return build(key, es.toArray(), replace);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static Object build(Function key, Object[] es, int length, boolean replace) {
+        long[] order = new long[length];
+        int n = 0;
+        for (int i = 0; i < length; i++) {
+            if (es[i] != null) {
+                order[n++] = (long) (key.apply(es[i]).hashCode() ^ Integer.MIN_VALUE) << Integer.SIZE | i;
+            }
+        }
+        if (n == 0) {
+            return null;
+        }
+        // sorting on the unsigned hash puts the elements in trie order, the position keeps equal hashes in insertion order
+        Arrays.sort(order, 0, n);
+        Object[] sorted = new Object[n];
+        int[] hashes = new int[n];
+        int len = 0;
+        for (int i = 0, b = 0; i < n; i++) {
+            Object e = es[(int) order[i]];
+            int h = (int) (order[i] >>> Integer.SIZE) ^ Integer.MIN_VALUE;
+            if (len > 0 && hashes[len - 1] == h) {
+                Object k = key.apply(e);
+                int ii = b;
+                while (ii < len && !key.apply(sorted[ii]).equals(k)) {
+                    ii++;
+                }
+                if (ii < len) {
+                    if (replace && !sorted[ii].equals(e)) {
+                        sorted[ii] = e;
+                    }
+                    continue;
+                }
+            } else {
+                b = len;
+            }
+            sorted[len] = e;
+            hashes[len++] = h;
+        }
+        return build(sorted, hashes, 0, len, (byte) 0);
+    }
+
+    protected static int rootParts() {
+        return (PART_MASKS[0] >>> PART_SHIFTS[0]) + 1;
+    }
+
+    protected static int rootPart(int hash) {
+        return (hash & PART_MASKS[0]) >>> PART_SHIFTS[0];
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected static Object build(Function key, BufferedBuilderImpl[] parts, boolean replace) {
+        Object[] roots = new Object[parts.length];
+        if (PARALLEL_COLLECTIONS && Thread.currentThread() instanceof ContextThread) {
+            // every root subtree is built by its own task in the pool of the calling thread
+            Object[] ctx = ContextThread.getContext();
+            java.util.List<ForkJoinTask<?>> tasks = new ArrayList<>(parts.length);
+            for (int p = 0; p < parts.length; p++) {
+                BufferedBuilderImpl part = parts[p];
+                if (part != null) {
+                    int i = p;
+                    tasks.add(ForkJoinTask.adapt(() -> {
+                        Object[] old = ContextThread.setIncrement(ctx);
+                        try {
+                            roots[i] = build(key, part.buffer, part.length, replace);
+                        } finally {
+                            ContextThread.setDecrement(old);
+                        }
+                    }));
+                }
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (int p = 0; p < parts.length; p++) {
+                if (parts[p] != null) {
+                    roots[p] = build(key, parts[p].buffer, parts[p].length, replace);
+                }
+            }
+        }
+        int len = 0;
+        for (Object root : roots) {
+            if (root != null) {
+                len++;
+            }
+        }
+        if (len <= 1) {
+            for (Object root : roots) {
+                if (root != null) {
+                    return root;
+                }
+            }
+            return null;
+        }
+        Object[] values = new Object[len];
+        long downMask = 0L;
+        int size = 0, hash = 0;
+        byte depth = 0;
+        for (int p = 0, it = 0; p < roots.length; p++) {
+            Object v = roots[p];
+            if (v != null) {
+                values[it++] = v;
+                downMask |= 1L << p;
+                size += size(v);
+                hash += hash(v);
+                depth = max(depth, depth(v));
+            }
+        }
+        return new HashMultiValue(values, size, hash, (byte) (depth + 1), 0, (byte) 0, downMask);
+    }
+
+    private static Object build(Object[] es, int[] hashes, int from, int to, byte lev) {
+        if (to - from == 1) {
+            return es[from];
+        }
+        int first = hashes[from], last = hashes[to - 1];
+        while (lev < NR_OF_PARTS && (first & PART_MASKS[lev]) == (last & PART_MASKS[lev])) {
+            lev++;
+        }
+        int idx = lev == 0 ? 0 : first & INDEX_MASKS[lev - 1];
+        if (lev == NR_OF_PARTS) {
+            int len = to - from;
+            if (len > EQUAL_HASHCODE_WARNING_LEVEL) {
+                System.err.println("WARNING: " + len + " non equal objects with equal hashcode " + //
+                        StringUtil.toString(Arrays.copyOfRange(es, from, from + EQUAL_HASHCODE_WARNING_LEVEL)));
+            }
+            return new EqualHashesValue(Arrays.copyOfRange(es, from, to), idx);
+        }
+        int mask = PART_MASKS[lev], shift = PART_SHIFTS[lev], len = 1;
+        for (int i = from + 1; i < to; i++) {
+            if ((hashes[i] & mask) != (hashes[i - 1] & mask)) {
+                len++;
+            }
+        }
+        Object[] values = new Object[len];
+        long downMask = 0L;
+        int size = 0, hash = 0;
+        byte depth = 0;
+        for (int i = from, it = 0; i < to; ) {
+            int b = i, part = hashes[b] & mask;
+            do {
+                i++;
+            } while (i < to && (hashes[i] & mask) == part);
+            Object v = build(es, hashes, b, i, (byte) (lev + 1));
+            values[it++] = v;
+            downMask |= 1L << (part >>> shift);
+            size += size(v);
+            hash += hash(v);
+            depth = max(depth, depth(v));
+        }
+        return new HashMultiValue(values, size, hash, (byte) (depth + 1), idx, lev, downMask);
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected static <T> T get(Object v, Function key, Object find) {
         if (v == null) {
@@ -365,13 +701,8 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                 HashMultiValue mv = (HashMultiValue) v;
                 if (mv.level == level + 1 || (id & INDEX_MASKS[mv.level - 1]) == mv.index) {
                     if (mv.level == NR_OF_PARTS) {
-                        for (it = 0; it < mv.values.length; it++) {
-                            v = mv.values[it];
-                            if (key.apply(v).equals(find)) {
-                                return (T) v;
-                            }
-                        }
-                        return null;
+                        it = ((EqualHashesValue) mv).find(key, find);
+                        return it >= 0 ? (T) mv.values[it] : null;
                     } else {
                         it = getIt(mv.mask, (id & PART_MASKS[mv.level]) >>> PART_SHIFTS[mv.level]);
                         if (it >= 0) {
@@ -389,6 +720,101 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         }
     }
 
+    // Visits the key and value of every entry in trie order, without creating a stream or spliterator
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected static void forEachEntry(Object v, BiConsumer action) {
+        if (v instanceof HashMultiValue) {
+            for (Object e : ((HashMultiValue) v).values) {
+                forEachEntry(e, action);
+            }
+        } else if (v != null) {
+            Entry e = (Entry) v;
+            action.accept(e.getKey(), e.getValue());
+        }
+    }
+
+    // Replaces every element by the result of the function, which keeps the key of the element or is null to remove it.
+    // The shape of the trie is kept, unchanged subtrees are reused and the children of the root are replaced in parallel.
+    @SuppressWarnings("rawtypes")
+    protected static Object replaceAll(Object v, Function function, boolean parallel) {
+        if (parallel && v instanceof HashMultiValue && ((HashMultiValue) v).level < NR_OF_PARTS && split(((HashMultiValue) v).size)) {
+            HashMultiValue mv = (HashMultiValue) v;
+            Object[] children = new Object[mv.values.length];
+            Object[] ctx = ContextThread.getContext();
+            java.util.List<ForkJoinTask<?>> tasks = new ArrayList<>(children.length);
+            for (int it = 0; it < children.length; it++) {
+                int i = it;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    Object[] old = ContextThread.setIncrement(ctx);
+                    try {
+                        children[i] = replaceAll(mv.values[i], function);
+                    } finally {
+                        ContextThread.setDecrement(old);
+                    }
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            return replaced(mv, children);
+        } else {
+            return replaceAll(v, function);
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object replaceAll(Object v, Function function) {
+        if (v instanceof HashMultiValue) {
+            HashMultiValue mv = (HashMultiValue) v;
+            Object[] children = null;
+            for (int i = 0; i < mv.values.length; i++) {
+                Object e = replaceAll(mv.values[i], function);
+                if (e != mv.values[i]) {
+                    if (children == null) {
+                        children = mv.values.clone();
+                    }
+                    children[i] = e;
+                }
+            }
+            return children != null ? replaced(mv, children) : mv;
+        } else {
+            return v != null ? function.apply(v) : null;
+        }
+    }
+
+    // The node with the replaced children, leaving out the removed children and collapsing to a single remaining child
+    private static Object replaced(HashMultiValue mv, Object[] children) {
+        long mask = mv.mask, rest = mv.mask;
+        int len = 0, hash = 0, size = 0;
+        byte depth = 0;
+        boolean eq = true;
+        for (int i = 0; i < children.length; i++) {
+            long bit = Long.lowestOneBit(rest);
+            rest &= ~bit;
+            Object e = children[i];
+            if (e != mv.values[i]) {
+                eq = false;
+            }
+            if (e != null) {
+                children[len++] = e;
+                hash += hash(e);
+                size += size(e);
+                depth = max(depth, depth(e));
+            } else {
+                mask &= ~bit;
+            }
+        }
+        if (eq) {
+            return mv;
+        } else if (len == 0) {
+            return null;
+        } else if (len == 1) {
+            return children[0];
+        } else if (mv.level == NR_OF_PARTS) {
+            return new EqualHashesValue(Arrays.copyOf(children, len), mv.index);
+        } else {
+            return new HashMultiValue(Arrays.copyOf(children, len), size, hash, (byte) (depth + 1), mv.index, mv.level, mask);
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     protected static Object set(Object val1, Function key1, Function set1, Object val2, Function key2, Function set2, BiFunction set12) {
         return set(val1, key1, index(val1, key1), set1, val2, key2, index(val2, key2), set2, (byte) 0, 0, set12, false);
@@ -599,40 +1025,31 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static Object setEqualHashes(Object val1, Function key1, Function set1, Object val2, Function key2, Function set2, int idx, BiFunction set12, boolean flip) {
         int len1 = length(val1), len2 = length(val2);
-        if (len1 + len2 > 2) {
-            Object e1, k1, e2, k2, e;
+        if (len1 >= EQUAL_HASHCODE_SORT_LEVEL && len2 == 1 && set1 == identity()) {
+            return ((EqualHashesValue) val1).setOne(key1, val2, key2, set2, set12, flip);
+        } else if (len2 >= EQUAL_HASHCODE_SORT_LEVEL && len1 == 1 && set2 == identity()) {
+            return ((EqualHashesValue) val2).setOne(key2, val1, key1, set1, set12, !flip);
+        } else if (len1 + len2 > 2) {
+            Object e1, e2, e;
             Object[] result = null;
             int len = 0, i1, i2;
             boolean eq1 = true, eq2 = true;
-            next1:
             for (i1 = 0; i1 < len1; i1++) {
                 e1 = get(val1, i1);
-                k1 = key1.apply(e1);
-                for (i2 = 0; i2 < len2; i2++) {
+                i2 = find(val2, key2, key1.apply(e1));
+                if (i2 >= 0) {
                     e2 = get(val2, i2);
-                    k2 = key2.apply(e2);
-                    if (k1.equals(k2)) {
-                        e = flip ? set12.apply(e2, e1) : set12.apply(e1, e2);
-                        if (e != e1) {
-                            eq1 = false;
-                        }
-                        if (e != e2) {
-                            eq2 = false;
-                        }
-                        if (e != null) {
-                            if (result == null) {
-                                result = new Object[len1 + len2];
-                            }
-                            result[len++] = e;
-                        }
-                        continue next1;
+                    e = flip ? set12.apply(e2, e1) : set12.apply(e1, e2);
+                    if (e != e2) {
+                        eq2 = false;
                     }
+                } else {
+                    e = set1.apply(e1);
+                    eq2 = false;
                 }
-                e = set1.apply(e1);
                 if (e != e1) {
                     eq1 = false;
                 }
-                eq2 = false;
                 if (e != null) {
                     if (result == null) {
                         result = new Object[len1 + len2];
@@ -641,15 +1058,10 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                 }
             }
             if (set2 != nullFunction()) {
-                next2:
                 for (i2 = 0; i2 < len2; i2++) {
                     e2 = get(val2, i2);
-                    k2 = key2.apply(e2);
-                    for (i1 = 0; i1 < len1; i1++) {
-                        k1 = key1.apply(get(val1, i1));
-                        if (k1.equals(k2)) {
-                            continue next2;
-                        }
+                    if (find(val1, key1, key2.apply(e2)) >= 0) {
+                        continue;
                     }
                     e = set2.apply(e2);
                     eq1 = false;
@@ -678,7 +1090,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                     System.err.println("WARNING: " + len + " non equal objects with equal hashcode " + //
                             StringUtil.toString(Arrays.copyOf(result, EQUAL_HASHCODE_WARNING_LEVEL)));
                 }
-                return new HashMultiValue(result, len, len * idx, (byte) 2, idx, NR_OF_PARTS, 0);
+                return new EqualHashesValue(result, idx);
             }
         } else {
             val1 = set1.apply(val1);
@@ -688,7 +1100,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
             } else if (val2 == null) {
                 return val1;
             } else {
-                return HashMultiValue.of(val1, val2, idx);
+                return EqualHashesValue.of(val1, val2, idx);
             }
         }
     }
@@ -728,11 +1140,68 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         return set(value, key1, identity(), merged, key2, nullFunction(), merger);
     }
 
+    protected static <T1, T2> boolean containsAll(Object value, Function<T1, Object> key1, Object contained, Function<T2, Object> key2) {
+        return includes(value, key1, index(value, key1), contained, key2, index(contained, key2), (byte) 0, true);
+    }
+
+    protected static <T1, T2> boolean intersects(Object value, Function<T1, Object> key1, Object other, Function<T2, Object> key2) {
+        return includes(value, key1, index(value, key1), other, key2, index(other, key2), (byte) 0, false);
+    }
+
+    // Whether val1 has the key of all (or of any) of the elements of val2, in one walk over both tries without building a result.
+    // Disjoint subtrees are decided on their masks alone and the walk stops at the first subtree that decides.
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static boolean includes(Object val1, Function key1, int id1, Object val2, Function key2, int id2, byte lev, boolean all) {
+        if (val2 == null || val1 == null) {
+            return all && val2 == null;
+        } else if (val1 == val2 && key1 == key2) {
+            return true;
+        } else if (all && size(val2) > size(val1)) {
+            return false;
+        }
+        int i1 = -1, i2 = -1;
+        for (int max = Math.min(level(val1), level(val2)); lev < max; lev++) {
+            i1 = id1 & PART_MASKS[lev];
+            i2 = id2 & PART_MASKS[lev];
+            if (i2 != i1) {
+                return false;
+            }
+        }
+        if (lev == NR_OF_PARTS) {
+            for (int i = 0, len = length(val2); i < len; i++) {
+                if ((find(val1, key1, key2.apply(get(val2, i))) >= 0) != all) {
+                    return !all;
+                }
+            }
+            return all;
+        }
+        HashMultiValue mv1 = val1 instanceof HashMultiValue && ((HashMultiValue) val1).level == lev ? (HashMultiValue) val1 : null;
+        HashMultiValue mv2 = val2 instanceof HashMultiValue && ((HashMultiValue) val2).level == lev ? (HashMultiValue) val2 : null;
+        if (mv2 == null) {
+            int it = getIt(mv1.mask, (id2 & PART_MASKS[lev]) >>> PART_SHIFTS[lev]);
+            return it >= 0 && includes(mv1.values[it], key1, index(mv1.values[it], key1), val2, key2, id2, (byte) (lev + 1), all);
+        } else if (mv1 == null) {
+            // the elements of val1 are all in one of the (at least two) subtrees of val2
+            int it = all ? -1 : getIt(mv2.mask, (id1 & PART_MASKS[lev]) >>> PART_SHIFTS[lev]);
+            return it >= 0 && includes(val1, key1, id1, mv2.values[it], key2, index(mv2.values[it], key2), (byte) (lev + 1), false);
+        } else if (all ? (mv2.mask & ~mv1.mask) != 0 : (mv2.mask & mv1.mask) == 0) {
+            return false;
+        }
+        long mask = mv1.mask & mv2.mask;
+        for (int i = Long.numberOfTrailingZeros(mask); i < Long.SIZE; i += 1 + Long.numberOfTrailingZeros(mask >>> i >>> 1)) {
+            Object e1 = mv1.values[getIt(mv1.mask, i)], e2 = mv2.values[getIt(mv2.mask, i)];
+            if (includes(e1, key1, index(e1, key1), e2, key2, index(e2, key2), (byte) (lev + 1), all) != all) {
+                return !all;
+            }
+        }
+        return all;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected StreamCollection<Object[]> getCompareStream(ContainingCollection<? extends T> toCompare) {
         HashCollectionImpl<T> other = (HashCollectionImpl<T>) toCompare;
-        return new StreamCollectionImpl<>(new Comparer(key(), value, other.key(), other.value, size() + other.size()), false);
+        return new StreamCollectionImpl<>(new Comparer(key(), value, other.key(), other.value, size() + other.size()), isParallel());
     }
 
     private static final class Comparer implements Spliterator<Object[]> {
@@ -742,41 +1211,58 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
         private final Function   key1;
         @SuppressWarnings("rawtypes")
         private final Function   key2;
-        private final Object     val1;
-        private final Object     val2;
-        private final int        total;
+        // the pairs of subtrees still to compare, with the level and index they start at
+        private Object[]         vals1;
+        private Object[]         vals2;
+        private byte[]           levels;
+        private int[]            indexes;
+        private int              from;
+        private int              to;
+        private int              total;
 
         @SuppressWarnings("rawtypes")
         private Comparer(Function key1, Object val1, Function key2, Object val2, int total) {
+            this(key1, key2, new Object[]{val1}, new Object[]{val2}, new byte[1], new int[1], 0, 1, total);
+        }
+
+        @SuppressWarnings("rawtypes")
+        private Comparer(Function key1, Function key2, Object[] vals1, Object[] vals2, byte[] levels, int[] indexes, int from, int to, int total) {
             this.key1 = key1;
             this.key2 = key2;
-            this.val1 = val1;
-            this.val2 = val2;
+            this.vals1 = vals1;
+            this.vals2 = vals2;
+            this.levels = levels;
+            this.indexes = indexes;
+            this.from = from;
+            this.to = to;
             this.total = total;
         }
 
         @Override
         public void forEachRemaining(Consumer<? super Object[]> visitor) {
             Object[] pair = new Object[2];
-            //noinspection ResultOfMethodCallIgnored
-            set(val1, key1, index(val1, key1), e1 -> {
-                pair[0] = e1;
-                pair[1] = null;
-                visitor.accept(pair);
-                return null;
-            }, val2, key2, index(val2, key2), e2 -> {
-                pair[0] = null;
-                pair[1] = e2;
-                visitor.accept(pair);
-                return null;
-            }, (byte) 0, 0, (v1, v2) -> {
-                if ((key1 != identity() || key2 != identity()) && !Objects.equals(v1, v2)) {
-                    pair[0] = v1;
-                    pair[1] = v2;
+            for (; from < to; from++) {
+                Object val1 = vals1[from], val2 = vals2[from];
+                //noinspection ResultOfMethodCallIgnored
+                set(val1, key1, index(val1, key1), e1 -> {
+                    pair[0] = e1;
+                    pair[1] = null;
                     visitor.accept(pair);
-                }
-                return null;
-            }, false);
+                    return null;
+                }, val2, key2, index(val2, key2), e2 -> {
+                    pair[0] = null;
+                    pair[1] = e2;
+                    visitor.accept(pair);
+                    return null;
+                }, levels[from], indexes[from], (v1, v2) -> {
+                    if ((key1 != identity() || key2 != identity()) && !Objects.equals(v1, v2)) {
+                        pair[0] = v1;
+                        pair[1] = v2;
+                        visitor.accept(pair);
+                    }
+                    return null;
+                }, false);
+            }
         }
 
         @Override
@@ -786,7 +1272,85 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
         @Override
         public Spliterator<Object[]> trySplit() {
-            return null;
+            if (!TreeCollectionImpl.split(total)) {
+                return null;
+            }
+            if (to - from == 1) {
+                // a diff in one subtree only descends until it reaches the level where it spreads
+                while (to - from == 1 && expand()) {
+                }
+                total = total(from, to);
+            }
+            if (to - from < 2) {
+                return null;
+            }
+            int mid = from + (to - from) / 2;
+            Comparer prefix = new Comparer(key1, key2, vals1, vals2, levels, indexes, from, mid, total(from, mid));
+            from = mid;
+            total = total(from, to);
+            return prefix;
+        }
+
+        // replaces the single remaining pair by the pairs of its children, leaving out identical subtrees,
+        // false if the pair can not be expanded any further
+        @SuppressWarnings("rawtypes")
+        private boolean expand() {
+            Object val1 = vals1[from], val2 = vals2[from];
+            if (val1 == val2 && key1 == key2) {
+                from = to;
+                return false;
+            } else if (val1 == null || val2 == null) {
+                return false;
+            }
+            byte lev = levels[from];
+            int idx = indexes[from], id1 = index(val1, key1), id2 = index(val2, key2);
+            for (int max = Math.min(level(val1), level(val2)); lev < max && (id1 & PART_MASKS[lev]) == (id2 & PART_MASKS[lev]); lev++) {
+                idx |= id1 & PART_MASKS[lev];
+            }
+            if (lev == NR_OF_PARTS) {
+                return false;
+            }
+            HashMultiValue mv1 = val1 instanceof HashMultiValue && ((HashMultiValue) val1).level == lev ? (HashMultiValue) val1 : null;
+            HashMultiValue mv2 = val2 instanceof HashMultiValue && ((HashMultiValue) val2).level == lev ? (HashMultiValue) val2 : null;
+            if (mv1 == null && mv2 == null) {
+                return false;
+            }
+            int shift = PART_SHIFTS[lev];
+            long mask1 = mv1 != null ? mv1.mask : 1L << ((id1 & PART_MASKS[lev]) >>> shift);
+            long mask2 = mv2 != null ? mv2.mask : 1L << ((id2 & PART_MASKS[lev]) >>> shift);
+            long mask = mask1 | mask2;
+            int len = Long.bitCount(mask);
+            Object[] children1 = new Object[len], children2 = new Object[len];
+            byte[] childLevels = new byte[len];
+            int[] childIndexes = new int[len];
+            int n = 0;
+            for (int i = Long.numberOfTrailingZeros(mask); i < Long.SIZE; i += 1 + Long.numberOfTrailingZeros(mask >>> i >>> 1)) {
+                int it1 = getIt(mask1, i), it2 = getIt(mask2, i);
+                Object c1 = it1 < 0 ? null : mv1 != null ? mv1.values[it1] : val1;
+                Object c2 = it2 < 0 ? null : mv2 != null ? mv2.values[it2] : val2;
+                if (c1 != c2 || key1 != key2) {
+                    children1[n] = c1;
+                    children2[n] = c2;
+                    childLevels[n] = (byte) (lev + 1);
+                    childIndexes[n] = idx | (i << shift);
+                    n++;
+                }
+            }
+            vals1 = children1;
+            vals2 = children2;
+            levels = childLevels;
+            indexes = childIndexes;
+            from = 0;
+            to = n;
+            return true;
+        }
+
+        private int total(int from, int to) {
+            int total = 0;
+            for (int i = from; i < to; i++) {
+                total += size(vals1[i]) + size(vals2[i]);
+            }
+            return total;
         }
 
         @Override
@@ -1003,7 +1567,7 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
 
         @SuppressWarnings("unchecked")
         private Object visitEqualHashes(BiFunction<? super Object[], Integer, Object> visitor, int index, int len, byte dep) {
-            Object obj, other, key, result = null;
+            Object obj, key, result = null;
             int it, length, base = -1, prev = -1;
             for (it = 0; it < len; it++) {
                 if (keep[dep][it]) {
@@ -1026,17 +1590,13 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                         for (int iii = 0; iii < len; iii++) {
                             if (iii != i) {
                                 values[dep + 1][iii] = null;
-                                it = length(values[dep][iii]);
-                                for (int iiii = 0; iiii < it; iiii++) {
-                                    other = get(values[dep][iii], iiii);
-                                    if (key.equals(keys[dep][iii].apply(other))) {
-                                        if (base != iii && iii < i) {
-                                            // already done
-                                            continue next;
-                                        } else {
-                                            values[dep + 1][iii] = other;
-                                            break;
-                                        }
+                                it = find(values[dep][iii], keys[dep][iii], key);
+                                if (it >= 0) {
+                                    if (base != iii && iii < i) {
+                                        // already done
+                                        continue next;
+                                    } else {
+                                        values[dep + 1][iii] = get(values[dep][iii], it);
                                     }
                                 }
                             }
@@ -1046,11 +1606,11 @@ public abstract class HashCollectionImpl<T> extends TreeCollectionImpl<T> {
                             result = obj;
                         } else if (result instanceof HashMultiValue && ((HashMultiValue) result).level == NR_OF_PARTS) {
                             assert index == ((HashMultiValue) result).index;
-                            result = ((HashMultiValue) result).set(keys[dep][0], key, obj);
+                            result = ((EqualHashesValue) result).set(keys[dep][0], key, obj);
                         } else if (!(result instanceof HashMultiValue) && keys[dep][0].apply(result).equals(key)) {
                             result = obj;
                         } else if (obj != null) {
-                            result = HashMultiValue.of(result, obj, index);
+                            result = EqualHashesValue.of(result, obj, index);
                         }
                     }
                 }
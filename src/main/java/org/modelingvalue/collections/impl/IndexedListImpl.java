@@ -0,0 +1,338 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.Predicate;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.IndexedList;
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.Map;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class IndexedListImpl<T> extends ListImpl<T> implements IndexedList<T> {
+
+    private static final long serialVersionUID = 2417760354619813478L;
+
+    @SuppressWarnings("rawtypes")
+    public static final IndexedList EMPTY = new IndexedListImpl<Object>((Object) null, Map.of());
+
+    @SuppressWarnings("unchecked")
+    public static <T> IndexedList<T> of(List<T> list) {
+        if (list instanceof IndexedList) {
+            return (IndexedList<T>) list;
+        } else {
+            return list.isEmpty() ? EMPTY : new IndexedListImpl<>(((ListImpl<T>) list).value);
+        }
+    }
+
+    // the number of occurrences of every non null element, updated incrementally and shared between versions
+    transient private Map<T, Integer> index;
+
+    public IndexedListImpl(T[] es) {
+        super(es);
+        index = index(this);
+    }
+
+    public IndexedListImpl(java.util.Collection<? extends T> coll) {
+        super(coll);
+        index = index(this);
+    }
+
+    private IndexedListImpl(Object value) {
+        super(value);
+        index = index(this);
+    }
+
+    private IndexedListImpl(Object value, Map<T, Integer> index) {
+        super(value);
+        this.index = index;
+    }
+
+    private static <T> Map<T, Integer> index(Iterable<T> es) {
+        java.util.Map<T, Integer> counts = new HashMap<>();
+        for (T e : es) {
+            if (e != null) {
+                counts.merge(e, 1, Integer::sum);
+            }
+        }
+        Map.Builder<T, Integer> builder = Map.builder();
+        counts.forEach(builder::put);
+        return builder.build();
+    }
+
+    private static <T> Map<T, Integer> count(Map<T, Integer> index, Iterable<? extends T> es, int delta) {
+        for (T e : es) {
+            index = count(index, e, delta);
+        }
+        return index;
+    }
+
+    private static <T> Map<T, Integer> count(Map<T, Integer> index, T e, int delta) {
+        if (e == null) {
+            return index;
+        }
+        Integer count = index.get(e);
+        int result = (count == null ? 0 : count) + delta;
+        return result == 0 ? index.removeKey(e) : index.put(e, result);
+    }
+
+    private IndexedList<T> create(List<T> list, Map<T, Integer> index) {
+        return create(((ListImpl<T>) list).value, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndexedList<T> create(Object val, Map<T, Integer> index) {
+        return val == value ? this : val == null ? EMPTY : new IndexedListImpl<>(val, index);
+    }
+
+    // only for the operations of ListImpl that do not maintain the index, it recounts all elements
+    @SuppressWarnings("unchecked")
+    @Override
+    protected IndexedListImpl<T> create(Object val) {
+        return val != value ? (val == null ? (IndexedListImpl<T>) EMPTY : new IndexedListImpl<>(val)) : this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public int count(Object element) {
+        if (element == null) {
+            return (int) super.indexesOf(0, size(), null).count();
+        }
+        Integer count = index.get((T) element);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public boolean contains(Object e) {
+        return e == null ? super.contains(null) : count(e) > 0;
+    }
+
+    @Override
+    public int firstIndexOf(int begin, int end, Object element) {
+        return element == null || contains(element) ? super.firstIndexOf(begin, end, element) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(int begin, int end, Object element) {
+        return element == null || contains(element) ? super.lastIndexOf(begin, end, element) : -1;
+    }
+
+    @Override
+    public Collection<Integer> indexesOf(int begin, int end, Object element) {
+        return element == null || contains(element) ? super.indexesOf(begin, end, element) : Collection.of();
+    }
+
+    @Override
+    public IndexedList<T> sublist(int beginIndex, int endIndex) {
+        List<T> result = super.sublist(beginIndex, endIndex);
+        if ((endIndex - beginIndex) * 2 < size()) {
+            return create(result, index(result));
+        } else {
+            Map<T, Integer> removed = count(index, super.sublist(0, beginIndex), -1);
+            return create(result, count(removed, super.sublist(endIndex, size()), -1));
+        }
+    }
+
+    @Override
+    public IndexedList<T> append(T e) {
+        return create(super.append(e), count(index, e, 1));
+    }
+
+    @Override
+    public IndexedList<T> prepend(T e) {
+        return create(super.prepend(e), count(index, e, 1));
+    }
+
+    @Override
+    public IndexedList<T> insert(int position, T inserted) {
+        return create(super.insert(position, inserted), count(index, inserted, 1));
+    }
+
+    @Override
+    public IndexedList<T> appendList(List<? extends T> inserted) {
+        return create(super.appendList(inserted), count(index, inserted, 1));
+    }
+
+    @Override
+    public IndexedList<T> prependList(List<? extends T> inserted) {
+        return create(super.prependList(inserted), count(index, inserted, 1));
+    }
+
+    @Override
+    public IndexedList<T> insertList(int position, List<? extends T> inserted) {
+        return create(super.insertList(position, inserted), count(index, inserted, 1));
+    }
+
+    @Override
+    public IndexedList<T> removeList(int begin, int end) {
+        return create(super.removeList(begin, end), count(index, super.sublist(begin, end), -1));
+    }
+
+    @Override
+    public IndexedList<T> replace(int position, T replacement) {
+        return create(super.replace(position, replacement), count(count(index, get(position), -1), replacement, 1));
+    }
+
+    @Override
+    public IndexedList<T> replaceList(int begin, int end, List<? extends T> replacement) {
+        return create(super.replaceList(begin, end, replacement), count(count(index, super.sublist(begin, end), -1), replacement, 1));
+    }
+
+    @Override
+    public IndexedList<T> removeFirst() {
+        return removeList(0, 1);
+    }
+
+    @Override
+    public IndexedList<T> removeLast() {
+        return removeList(size() - 1, size());
+    }
+
+    @Override
+    public IndexedList<T> removeAllFirst(int length) {
+        return removeList(0, length);
+    }
+
+    @Override
+    public IndexedList<T> removeAllLast(int length) {
+        return removeList(size() - length, size());
+    }
+
+    @Override
+    public IndexedList<T> removeIndex(int position) {
+        return removeList(position, position + 1);
+    }
+
+    @Override
+    public IndexedList<T> replace(Object pre, T post) {
+        IndexedList<T> result = this;
+        for (int i = firstIndexOf(pre); i >= 0; i = result.firstIndexOf(i + 1, result.size(), pre)) {
+            result = result.replace(i, post);
+        }
+        return result;
+    }
+
+    @Override
+    public IndexedList<T> replaceFirst(Object pre, T post) {
+        int i = firstIndexOf(pre);
+        return i >= 0 ? replace(i, post) : this;
+    }
+
+    @Override
+    public IndexedList<T> remove(Object e) {
+        int i = firstIndexOf(e);
+        return i >= 0 ? removeIndex(i) : this;
+    }
+
+    @Override
+    public IndexedList<T> removeAll(Collection<?> e) {
+        Predicate<Object> keep = removing(e);
+        return keep == null ? this : filtered(keep);
+    }
+
+    @Override
+    public IndexedList<T> retainAll(Collection<?> c) {
+        return filtered(retaining(c));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IndexedList<T> removeIf(Predicate<? super T> predicate) {
+        return filtered(o -> !predicate.test((T) o));
+    }
+
+    // filters in one walk, only the dropped elements are uncounted from the index
+    @SuppressWarnings("unchecked")
+    private IndexedList<T> filtered(Predicate<Object> keep) {
+        java.util.List<T> dropped = new ArrayList<>();
+        Object val = filter(value, o -> {
+            if (keep.test(o)) {
+                return true;
+            }
+            dropped.add((T) o);
+            return false;
+        });
+        return create(val, count(index, dropped, -1));
+    }
+
+    @Override
+    public IndexedList<T> add(T e) {
+        return append(e);
+    }
+
+    @Override
+    public IndexedList<T> addAll(Collection<? extends T> e) {
+        return appendList(e.toList());
+    }
+
+    @Override
+    public IndexedList<T> addUnique(T e) {
+        return contains(e) ? this : append(e);
+    }
+
+    @Override
+    public IndexedList<T> addAllUnique(Collection<? extends T> es) {
+        IndexedList<T> result = this;
+        for (T e : es) {
+            result = result.addUnique(e);
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> merge(List<T>[] branches, int length) {
+        return of(super.merge(branches, length));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<T> getMerger() {
+        return EMPTY;
+    }
+
+    @Override
+    public IndexedList<T> clear() {
+        return create(null);
+    }
+
+    @Override
+    public void javaDeserialize(Deserializer s) {
+        super.javaDeserialize(s);
+        index = index(this);
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        s.writeInt(size());
+        for (T e : this) {
+            s.writeObject(e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "unused"})
+    private static <T> IndexedListImpl<T> deserialize(Deserializer s) {
+        T[] entries = (T[]) s.readArray(new Object[]{});
+        if (entries.length == 0) {
+            return (IndexedListImpl<T>) EMPTY;
+        }
+        return new IndexedListImpl<>(entries);
+    }
+
+}
@@ -0,0 +1,152 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import org.modelingvalue.collections.IntList;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class IntListImpl extends PrimitiveListImpl<IntList> implements IntList {
+
+    private static final long   serialVersionUID = -4718305215735398474L;
+
+    public static final IntList EMPTY            = new IntListImpl(null);
+
+    public static IntList of(int[] elements) {
+        return new IntListImpl(chunked(elements));
+    }
+
+    public IntListImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected IntList create(Object val) {
+        return val != value ? (val == null ? EMPTY : new IntListImpl(val)) : this;
+    }
+
+    @Override
+    protected Object newArray(int length) {
+        return new int[length];
+    }
+
+    @Override
+    public int get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return getInt(value, index);
+    }
+
+    @Override
+    public int first() {
+        return get(0);
+    }
+
+    @Override
+    public int last() {
+        return get(size() - 1);
+    }
+
+    @Override
+    public IntList append(int e) {
+        return insert(size(), e);
+    }
+
+    @Override
+    public IntList prepend(int e) {
+        return insert(0, e);
+    }
+
+    @Override
+    public IntList insert(int position, int e) {
+        return insertSingle(position, new int[]{e});
+    }
+
+    @Override
+    public IntList replace(int position, int replacement) {
+        return replaceSingle(position, new int[]{replacement});
+    }
+
+    @Override
+    public int firstIndexOf(int e) {
+        return firstIndexOf(new int[]{e});
+    }
+
+    @Override
+    public int lastIndexOf(int e) {
+        return lastIndexOf(new int[]{e});
+    }
+
+    @Override
+    public boolean contains(int e) {
+        return firstIndexOf(e) >= 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new Iterator(value);
+    }
+
+    private static final class Iterator extends ChunkIterator implements PrimitiveIterator.OfInt {
+        private Iterator(Object value) {
+            super(value);
+        }
+
+        @Override
+        public int nextInt() {
+            int i = advance();
+            return ((int[]) chunk())[i];
+        }
+    }
+
+    @Override
+    public IntStream stream() {
+        return Arrays.stream(chunks(value)).flatMapToInt(c -> Arrays.stream((int[]) c));
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        forEachChunk(value, c -> {
+            for (int e : (int[]) c) {
+                action.accept(e);
+            }
+        });
+    }
+
+    @Override
+    public int[] toArray() {
+        return (int[]) array();
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private static IntList deserialize(Deserializer s) {
+        IntListImpl list = new IntListImpl(null);
+        list.javaDeserialize(s);
+        return list.isEmpty() ? EMPTY : list;
+    }
+
+}
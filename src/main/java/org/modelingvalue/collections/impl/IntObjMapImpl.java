@@ -0,0 +1,148 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Objects;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.IntObjMap;
+import org.modelingvalue.collections.IntSet;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.IntObjConsumer;
+import org.modelingvalue.collections.util.Pair;
+import org.modelingvalue.collections.util.Serializer;
+
+public class IntObjMapImpl<V> extends PrimitiveHashImpl implements IntObjMap<V> {
+
+    private static final long     serialVersionUID = -6803539916451738204L;
+
+    @SuppressWarnings("rawtypes")
+    public static final IntObjMap EMPTY            = new IntObjMapImpl((Object) null);
+
+    public IntObjMapImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected int bits() {
+        return Integer.SIZE;
+    }
+
+    @Override
+    protected boolean hasValues() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <W> IntObjMap<W> create(Object val) {
+        return val != value ? (val == null ? EMPTY : new IntObjMapImpl<>(val)) : (IntObjMap<W>) this;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return lookup(key) != null;
+    }
+
+    @Override
+    public V get(int key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getOrDefault(int key, V defaultValue) {
+        Object v = lookup(key);
+        return v == null ? defaultValue : (V) v;
+    }
+
+    @Override
+    public IntObjMap<V> put(int key, V val) {
+        return create(with(key, Objects.requireNonNull(val)));
+    }
+
+    @Override
+    public IntObjMap<V> removeKey(int key) {
+        return create(without(key));
+    }
+
+    @Override
+    public IntObjMap<V> putAll(IntObjMap<? extends V> c) {
+        return create(joinWith(c, UNION));
+    }
+
+    @Override
+    public IntObjMap<V> removeAllKey(IntSet keys) {
+        return create(joinWith(keys, DIFFERENCE));
+    }
+
+    @Override
+    public IntObjMap<Pair<V, V>> diff(IntObjMap<V> other) {
+        return create(joinWith(other, DIFF));
+    }
+
+    @Override
+    public IntSet toKeys() {
+        return value == null ? IntSetImpl.EMPTY : new IntSetImpl(keySet(value));
+    }
+
+    @Override
+    public Collection<V> toValues() {
+        return valueCollection();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(IntObjConsumer<? super V> action) {
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            action.accept((int) c.nextKey(), (V) c.value());
+        }
+    }
+
+    @Override
+    public IntObjMap<V> clear() {
+        return create(null);
+    }
+
+    @Override
+    public IntObjMap<V> merge(IntObjMap<V>[] branches, int length) {
+        return create(mergeWith(branches, length));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public IntObjMap<V> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<IntObjMap> getMeetClass() {
+        return IntObjMap.class;
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings({"unchecked", "unused"})
+    private static <V> IntObjMap<V> deserialize(Deserializer s) {
+        IntObjMapImpl<V> map = new IntObjMapImpl<>(null);
+        map.javaDeserialize(s);
+        return map.isEmpty() ? EMPTY : map;
+    }
+
+}
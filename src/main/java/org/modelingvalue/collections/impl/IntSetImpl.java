@@ -0,0 +1,157 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.modelingvalue.collections.IntSet;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class IntSetImpl extends PrimitiveHashImpl implements IntSet {
+
+    private static final long  serialVersionUID = 6270466195612387290L;
+
+    public static final IntSet EMPTY            = new IntSetImpl(null);
+
+    public static IntSet of(int[] elements) {
+        return new IntSetImpl(build(mix(elements), Integer.SIZE));
+    }
+
+    public IntSetImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected int bits() {
+        return Integer.SIZE;
+    }
+
+    protected IntSet create(Object val) {
+        return val != value ? (val == null ? EMPTY : new IntSetImpl(val)) : this;
+    }
+
+    @Override
+    public boolean contains(int e) {
+        return lookup(e) != null;
+    }
+
+    @Override
+    public boolean containsAll(IntSet c) {
+        return includes(c);
+    }
+
+    @Override
+    public IntSet add(int e) {
+        return create(with(e, PRESENT));
+    }
+
+    @Override
+    public IntSet remove(int e) {
+        return create(without(e));
+    }
+
+    @Override
+    public IntSet addAll(IntSet c) {
+        return create(joinWith(c, UNION));
+    }
+
+    @Override
+    public IntSet removeAll(IntSet c) {
+        return create(joinWith(c, DIFFERENCE));
+    }
+
+    @Override
+    public IntSet retainAll(IntSet c) {
+        return create(joinWith(c, INTERSECTION));
+    }
+
+    @Override
+    public IntSet[] compare(IntSet other) {
+        return new IntSet[]{removeAll(other), other.removeAll(this)};
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        Cursor cursor = new Cursor(value);
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return (int) cursor.nextKey();
+            }
+        };
+    }
+
+    @Override
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            action.accept((int) c.nextKey());
+        }
+    }
+
+    @Override
+    public int[] toArray() {
+        return (int[]) keyArray();
+    }
+
+    @Override
+    public IntSet clear() {
+        return EMPTY;
+    }
+
+    @Override
+    public IntSet merge(IntSet[] branches, int length) {
+        return create(mergeWith(branches, length));
+    }
+
+    @Override
+    public IntSet getMerger() {
+        return EMPTY;
+    }
+
+    @Override
+    public Class<IntSet> getMeetClass() {
+        return IntSet.class;
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private static IntSet deserialize(Deserializer s) {
+        IntSetImpl set = new IntSetImpl(null);
+        set.javaDeserialize(s);
+        return set.isEmpty() ? EMPTY : set;
+    }
+
+}
@@ -18,17 +18,26 @@ package org.modelingvalue.collections.impl;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.ContainingCollection;
 import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.Set;
 import org.modelingvalue.collections.StreamCollection;
 import org.modelingvalue.collections.mutable.MutableList;
 import org.modelingvalue.collections.util.Deserializer;
@@ -38,9 +47,32 @@ import org.modelingvalue.collections.util.Serializer;
 public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     private static final long serialVersionUID     = -8377429516360861865L;
-    private static final int  MULTI_MAX_LENGTH     = Integer.getInteger("LIST_MULTI_MAX_LENGTH", 32);
-    private static final int  HALF_MAX_LENGTH      = MULTI_MAX_LENGTH / 2;
-    private static final int  UNBALANCE_TOLERATION = Integer.getInteger("LIST_UNBALANCE_TOLERATION", 10);
+    private static final int  MULTI_MAX_LENGTH     = RopeImpl.MULTI_MAX_LENGTH;
+    private static final int  DIFF_MAX             = Integer.getInteger("LIST_DIFF_MAX", 1024);
+
+    // the leaves of a list are its elements
+    private static final RopeImpl ROPE = new RopeImpl() {
+                                             @Override
+                                             protected int leafSize(Object leaf) {
+                                                 return 1;
+                                             }
+
+                                             @Override
+                                             protected Object leafSlice(Object leaf, int beginIndex, int endIndex) {
+                                                 // a single element is only ever sliced whole
+                                                 return leaf;
+                                             }
+
+                                             @Override
+                                             protected Object leafMerge(Object first, Object last) {
+                                                 return null;
+                                             }
+
+                                             @Override
+                                             protected Node node(Object[] values) {
+                                                 return ListMultivalue.create(values);
+                                             }
+                                         };
 
     private static final class OrderedCollectionSpliterator<T> extends CollectionSpliterator<T> {
 
@@ -69,41 +101,8 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             throw new IndexOutOfBoundsException();
         } else if (endIndex < beginIndex) {
             throw new IllegalArgumentException();
-        } else if (beginIndex == endIndex) {
-            return null;
-        } else if (obj instanceof ListMultivalue) {
-            return ((ListMultivalue) obj).getAllDeep(beginIndex, endIndex);
         } else {
-            return obj;
-        }
-    }
-
-    private static Object getAllDeep(Object[] values, int beginIndex, int endIndex) {
-        if (beginIndex == endIndex) {
-            return null;
-        } else {
-            int len = 0;
-            Object begin = null;
-            int ib = -1;
-            for (int i = 0; i < values.length; i++) {
-                Object val = values[i];
-                int valSize = size(val);
-                int total = len + valSize;
-                if (total >= endIndex && len <= beginIndex) {
-                    return ListImpl.getAllDeep(val, beginIndex - len, endIndex - len);
-                } else if (len <= beginIndex && total > beginIndex) {
-                    ib = i;
-                    begin = ListImpl.getAllDeep(val, beginIndex - len, valSize);
-                } else if (total >= endIndex) {
-                    Object[] result = new Object[i - ib + 1];
-                    result[0] = begin;
-                    System.arraycopy(values, ib + 1, result, 1, result.length - 2);
-                    result[result.length - 1] = ListImpl.getAllDeep(val, 0, endIndex - len);
-                    return ListMultivalue.of(result);
-                }
-                len = total;
-            }
-            throw new IndexOutOfBoundsException();
+            return ROPE.balance(ROPE.slice(obj, beginIndex, endIndex));
         }
     }
 
@@ -116,20 +115,8 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             throw new IllegalArgumentException();
         } else if (beginIndex == endIndex) {
             return obj;
-        } else if (obj instanceof ListMultivalue) {
-            if (beginIndex == 0 && endIndex == size(obj)) {
-                return null;
-            } else if (beginIndex == 0) {
-                return ((ListMultivalue) obj).getAllDeep(endIndex, size(obj));
-            } else if (endIndex == size(obj)) {
-                return ((ListMultivalue) obj).getAllDeep(0, beginIndex);
-            } else {
-                Object before = ((ListMultivalue) obj).getAllDeep(0, beginIndex);
-                Object after = ((ListMultivalue) obj).getAllDeep(endIndex, size(obj));
-                return ListMultivalue.createPair(before, after);
-            }
         } else {
-            return null;
+            return ROPE.balance(ROPE.concat(ROPE.slice(obj, 0, beginIndex), ROPE.slice(obj, endIndex, size(obj))));
         }
     }
 
@@ -157,65 +144,109 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         throw new IndexOutOfBoundsException();
     }
 
-    private static final class ListMultivalue extends MultiValue {
+    // keeps the elements for which keep answers true, in order, reusing every subtree that keeps all its elements
+    protected static Object filter(Object obj, Predicate<Object> keep) {
+        if (obj instanceof ListMultivalue) {
+            Object[] values = ((ListMultivalue) obj).values;
+            Object[] result = null;
+            int length = 0;
+            for (int i = 0; i < values.length; i++) {
+                Object val = filter(values[i], keep);
+                if (result == null && val != values[i]) {
+                    result = Arrays.copyOf(values, values.length);
+                    length = i;
+                }
+                if (result != null && val != null) {
+                    result[length++] = val;
+                }
+            }
+            if (result == null) {
+                return obj;
+            } else if (length <= 1) {
+                return length == 0 ? null : result[0];
+            } else {
+                return ROPE.join(Arrays.copyOf(result, length));
+            }
+        } else {
+            return obj != null && keep.test(obj) ? obj : null;
+        }
+    }
+
+    // appends (end) or prepends a single element along the edge of the tree, null if it does not fit within maxDepth
+    private static Object edge(Object obj, Object e, int maxDepth, boolean end) {
+        if (obj == null) {
+            return e;
+        } else if (obj instanceof ListMultivalue) {
+            return ((ListMultivalue) obj).edge(e, maxDepth, end);
+        } else if (maxDepth > 1) {
+            return ListMultivalue.create(end ? new Object[]{obj, e} : new Object[]{e, obj});
+        } else {
+            return null;
+        }
+    }
+
+    private static final class ListMultivalue extends RopeImpl.Node {
 
         private static final long serialVersionUID = -1093279559842921979L;
 
-        private static ListMultivalue of(Object[] values) {
+        private ListMultivalue(Object[] values, int hash, byte depth) {
+            super(values, ROPE.sizes(values), hash, depth);
+        }
+
+        @Override
+        protected Object getDeep(int idx) {
+            if (idx >= size) {
+                throw new IndexOutOfBoundsException();
+            }
+            int i = child(idx);
+            return TreeCollectionImpl.getDeep(values[i], idx - offset(i));
+        }
+
+        private static ListMultivalue create(Object[] values) {
             int hash = 0;
             byte depth = 0;
-            int len = 0;
-            int size = 0;
             for (Object e : values) {
-                int s = size(e);
-                for (int i = 0; i < s; i++) {
-                    hash *= 31;
-                }
-                hash += hash(e);
-                size += s;
-                len += length(e);
+                hash = hash * pow31(size(e)) + hash(e);
                 depth = max(depth, depth(e));
             }
-            if (len <= MULTI_MAX_LENGTH) {
-                Object[] flattened = new Object[len];
-                int i = 0;
-                depth = 0;
-                for (Object e : values) {
-                    if (e instanceof ListMultivalue) {
-                        ListMultivalue mv = (ListMultivalue) e;
-                        System.arraycopy(mv.values, 0, flattened, i, mv.values.length);
-                        i += mv.values.length;
-                        depth = max(depth, (byte) (mv.depth - 1));
-                    } else if (e != null) {
-                        flattened[i++] = e;
-                        depth = max(depth, (byte) 1);
-                    }
-                }
-                values = flattened;
-            } else if (Math.pow(MULTI_MAX_LENGTH, Math.max(depth - UNBALANCE_TOLERATION, 0)) > size) {
-                Object[] balanced = new Object[MULTI_MAX_LENGTH];
-                int step = size / MULTI_MAX_LENGTH;
-                int rest = size % MULTI_MAX_LENGTH;
-                int oldidx = 0;
-                depth = 0;
-                for (int i = 0; i < MULTI_MAX_LENGTH; i++) {
-                    int newidx = oldidx + step + (i == HALF_MAX_LENGTH ? rest : 0);
-                    balanced[i] = ListImpl.getAllDeep(values, oldidx, newidx);
-                    oldidx = newidx;
-                    depth = max(depth, depth(balanced[i]));
+            return new ListMultivalue(values, hash, (byte) (depth + 1));
+        }
+
+        private static int pow31(int exp) {
+            int result = 1;
+            for (int base = 31; exp > 0; exp >>= 1, base *= base) {
+                if ((exp & 1) != 0) {
+                    result *= base;
                 }
-                values = balanced;
             }
-            return new ListMultivalue(values, size, hash, (byte) (depth + 1));
+            return result;
         }
 
-        private ListMultivalue(Object[] values, int size, int hash, byte depth) {
-            super(values, size, hash, depth);
+        // the outermost leaf acts as the buffer for appends and prepends, a level is only added when the whole edge is full
+        private Object edge(Object e, int maxDepth, boolean end) {
+            int i = end ? values.length - 1 : 0;
+            Object old = values[i];
+            Object pushed = ListImpl.edge(old, e, depth - 1, end);
+            if (pushed != null) {
+                Object[] result = values.clone();
+                result[i] = pushed;
+                int h = end ? (hash - hash(old)) * 31 + hash(pushed) : hash + (hash(pushed) - hash(old)) * pow31(size - size(old));
+                return new ListMultivalue(result, h, max(depth, (byte) (depth(pushed) + 1)));
+            } else if (values.length < MULTI_MAX_LENGTH) {
+                Object[] result = new Object[values.length + 1];
+                System.arraycopy(values, 0, result, end ? 0 : 1, values.length);
+                result[end ? values.length : 0] = e;
+                int h = end ? hash * 31 + hash(e) : hash(e) * pow31(size) + hash;
+                return new ListMultivalue(result, h, depth);
+            } else if (depth < maxDepth) {
+                return create(end ? new Object[]{this, e} : new Object[]{e, this});
+            } else {
+                return null;
+            }
         }
 
         private Object insert(Object inserted, int idx) {
             Object[] result = null;
-            int oldLen = 0;
             if (idx == 0) {
                 if (values.length < MULTI_MAX_LENGTH) {
                     result = new Object[values.length + 1];
@@ -234,32 +265,27 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
                     Object val = values[i];
                     result = insert(i, val, inserted, size(val));
                 }
-            }
-            for (int i = 0; result == null && i < values.length; i++) {
-                Object val = values[i];
-                int valSize = size(val);
-                int newLen = oldLen + valSize;
-                if (newLen > idx && oldLen < idx) {
-                    result = insert(i, val, inserted, idx - oldLen);
-                } else if (newLen == idx) {
-                    if (values.length < MULTI_MAX_LENGTH) {
-                        result = new Object[values.length + 1];
-                        System.arraycopy(values, 0, result, 0, ++i);
-                        System.arraycopy(values, i, result, i + 1, values.length - i);
-                        result[i] = inserted;
+            } else if (idx > 0 && idx < size) {
+                int i = child(idx);
+                int offset = offset(i);
+                if (offset < idx) {
+                    result = insert(i, values[i], inserted, idx - offset);
+                } else if (values.length < MULTI_MAX_LENGTH) {
+                    result = new Object[values.length + 1];
+                    System.arraycopy(values, 0, result, 0, i);
+                    System.arraycopy(values, i, result, i + 1, values.length - i);
+                    result[i] = inserted;
+                } else {
+                    Object val = values[i - 1];
+                    if (size(val) < size(values[i])) {
+                        result = insert(i - 1, val, inserted, size(val));
                     } else {
-                        Object val2 = values[i + 1];
-                        if (valSize < size(val2)) {
-                            result = insert(i, val, inserted, valSize);
-                        } else {
-                            result = insert(i + 1, val2, inserted, 0);
-                        }
+                        result = insert(i, values[i], inserted, 0);
                     }
                 }
-                oldLen = newLen;
             }
             if (result != null) {
-                return ListMultivalue.of(result);
+                return ROPE.join(result);
             }
             throw new IndexOutOfBoundsException();
         }
@@ -270,26 +296,13 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             return result;
         }
 
-        public Object getAllDeep(int beginIndex, int endIndex) {
-            if (beginIndex == 0 && endIndex == size) {
-                return this;
-            }
-            if (beginIndex < size) {
-                return ListImpl.getAllDeep(values, beginIndex, endIndex);
-            }
-            throw new IndexOutOfBoundsException();
-        }
-
         @Override
         protected boolean equalsWithStop(Object obj, boolean[] stop) {
             return size(obj) == size && equalsWithStop(obj, 0, stop);
         }
 
         private boolean equalsWithStop(Object other, int min, boolean[] stop) {
-            int[] len = new int[values.length];
-            for (int i = 0; i < values.length; i++) {
-                len[i] = size(values[i]) + prev(len, i);
-            }
+            int[] len = sizes;
             return getIntStream(0, values.length, stop, size).allMatch(i -> {
                 if (!stop[0]) {
                     Object val = values[i];
@@ -307,7 +320,7 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             Object[] values = new Object[2];
             values[0] = first;
             values[1] = last;
-            return ListMultivalue.of(values);
+            return ROPE.join(values);
         }
 
         private static int prev(int[] len, int i) {
@@ -318,29 +331,57 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
     @SuppressWarnings("rawtypes")
     public static final List EMPTY = new ListImpl((Object) null);
 
-    public ListImpl(T[] es) {
-        if (es.length > MULTI_MAX_LENGTH) {
-            for (int i = 0; i < es.length; i++) {
-                value = insert(value, es[i], i);
+    public static final class BuilderImpl<T> extends BufferedBuilderImpl implements List.Builder<T> {
+
+        @Override
+        public List.Builder<T> append(T e) {
+            push(Objects.requireNonNull(e));
+            return this;
+        }
+
+        @Override
+        public List.Builder<T> appendAll(Iterable<? extends T> es) {
+            for (T e : es) {
+                append(e);
             }
-        } else {
-            value = es.length == 1 ? es[0] : ListMultivalue.of(Arrays.copyOf(es, es.length, Object[].class));
+            return this;
         }
+
+        @Override
+        public List.Builder<T> appendAll(List.Builder<? extends T> other) {
+            pushAll((BufferedBuilderImpl) other);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public List<T> build() {
+            return length == 0 ? EMPTY : new ListImpl<>(ROPE.build(buffer, 0, length));
+        }
+    }
+
+    public ListImpl(T[] es) {
+        value = build(Arrays.copyOf(es, es.length, Object[].class));
     }
 
     public ListImpl(java.util.Collection<? extends T> coll) {
-        if (coll.size() > MULTI_MAX_LENGTH) {
-            int i = 0;
-            for (T e : coll) {
-                value = insert(value, e, i++);
+        value = build(coll.toArray());
+    }
+
+    // short lists skip null elements and longer ones reject them, as the element by element construction did
+    private static Object build(Object[] es) {
+        int length = 0;
+        for (Object e : es) {
+            if (e != null) {
+                es[length++] = e;
+            } else if (es.length > MULTI_MAX_LENGTH) {
+                throw new NullPointerException();
             }
-        } else {
-            Object[] es = coll.toArray();
-            value = /* TODO WIM as.length==0?EMPTY : */ es.length == 1 ? es[0] : ListMultivalue.of(es);
         }
+        return length == 0 ? null : ROPE.build(es, 0, length);
     }
 
-    private ListImpl(Object value) {
+    ListImpl(Object value) {
         this.value = value;
     }
 
@@ -356,12 +397,12 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     @Override
     public List<T> append(T e) {
-        return new ListImpl<>(insert(value, e, size(value)));
+        return new ListImpl<>(edge(value, Objects.requireNonNull(e), Integer.MAX_VALUE, true));
     }
 
     @Override
     public List<T> prepend(T e) {
-        return new ListImpl<>(insert(value, e, 0));
+        return new ListImpl<>(edge(value, Objects.requireNonNull(e), Integer.MAX_VALUE, false));
     }
 
     @Override
@@ -372,19 +413,26 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
     @SuppressWarnings("rawtypes")
     @Override
     public List<T> appendList(List<? extends T> inserted) {
-        return inserted.isEmpty() ? this : new ListImpl<>(insert(value, ((ListImpl) inserted).value, size(value)));
+        return inserted.isEmpty() ? this : new ListImpl<>(ROPE.concat(value, ((ListImpl) inserted).value));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public List<T> prependList(List<? extends T> inserted) {
-        return inserted.isEmpty() ? this : new ListImpl<>(insert(value, ((ListImpl) inserted).value, 0));
+        return inserted.isEmpty() ? this : new ListImpl<>(ROPE.concat(((ListImpl) inserted).value, value));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public List<T> insertList(int position, List<? extends T> inserted) {
-        return inserted.isEmpty() ? this : new ListImpl<>(insert(value, ((ListImpl) inserted).value, position));
+        if (inserted.isEmpty()) {
+            return this;
+        } else if (position < 0 || position > size()) {
+            throw new IndexOutOfBoundsException();
+        } else {
+            Object before = getAllDeep(value, 0, position), after = getAllDeep(value, position, size());
+            return new ListImpl<>(ROPE.concat(ROPE.concat(before, ((ListImpl) inserted).value), after));
+        }
     }
 
     @Override
@@ -575,92 +623,137 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
     private static final class CompareSpliterator implements Spliterator<Object[]> {
         private static final int COMPARE_CHARACTERISTICS = Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL;
 
-        private final static class ListState {
-            private final int[]    is;
-            private final Object[] vs;
-            private final Object   val;
-            private int            depth;
+        private final Object[]   values;
+        private final Object[]   result;
+        private int              depth;
+        private int              toDepth;
+        private int              total;
+        // per list, the nodes down to the current depth in pre-order, and whether they are on that depth
+        private Object[][]       nodes;
+        private boolean[][]      onLevel;
+        private int[]            is;
+        private int              to;
 
-            private ListState(int depth, Object value) {
-                is = new int[depth - 1];
-                vs = new Object[depth];
-                this.val = value;
-                vs[0] = value;
+        private CompareSpliterator(Object[] values) {
+            this.values = values;
+            this.result = new Object[values.length];
+            int tot = 0;
+            int max = 0;
+            for (Object value : values) {
+                max = Math.max(max, depth(value));
+                tot += length(value);
             }
+            this.toDepth = max;
+            this.total = tot;
+        }
 
-            private Object next(int max) {
-                Object value = vs[depth];
-                if (length(value) > 1 && depth < max) {
-                    vs[++depth] = get(vs[depth - 1], 0);
-                } else {
-                    while (depth > 0 && ++is[depth - 1] >= length(vs[depth - 1])) {
-                        vs[depth] = null;
-                        is[--depth] = 0;
-                    }
-                    if (depth > 0) {
-                        vs[depth] = get(vs[depth - 1], is[depth - 1]);
-                    } else if (vs[0] != null) {
-                        vs[0] = null;
-                    } else {
-                        vs[0] = val;
-                    }
+        private CompareSpliterator(Object[] values, int depth, int toDepth, int total) {
+            this.values = values;
+            this.result = new Object[values.length];
+            this.depth = depth;
+            this.toDepth = toDepth;
+            this.total = total;
+        }
+
+        private void init() {
+            nodes = new Object[values.length][];
+            onLevel = new boolean[values.length][];
+            is = new int[values.length];
+            for (int c = 0; c < values.length; c++) {
+                java.util.List<Object> list = new ArrayList<>();
+                java.util.List<Boolean> levels = new ArrayList<>();
+                preOrder(values[c], 0, list, levels);
+                nodes[c] = list.toArray();
+                onLevel[c] = new boolean[levels.size()];
+                for (int i = 0; i < onLevel[c].length; i++) {
+                    onLevel[c][i] = levels.get(i);
+                }
+                if (nodes[c].length == 0) {
+                    // an empty list makes the product empty
+                    nodes[0] = nodes[c];
                 }
-                return value;
             }
+            to = nodes[0].length;
         }
 
-        private final Object[]    result;
-        private final ListState[] states;
-        private final int         total;
-        private final int         maxDepth;
-        private int               coll;
-        private int               depth;
-
-        private CompareSpliterator(Object[] values) {
-            this.result = new Object[values.length];
-            this.states = new ListState[values.length];
-            int tot = 0;
-            int max = 0;
-            for (int c = 0; c < values.length; c++) {
-                int d = depth(values[c]);
-                max = Math.max(max, d);
-                states[c] = new ListState(d, values[c]);
-                tot += length(values[c]);
+        private void preOrder(Object value, int level, java.util.List<Object> list, java.util.List<Boolean> levels) {
+            if (value != null) {
+                list.add(value);
+                levels.add(level == depth);
+                if (length(value) > 1 && level < depth) {
+                    for (int i = 0; i < length(value); i++) {
+                        preOrder(get(value, i), level + 1, list, levels);
+                    }
+                }
             }
-            this.maxDepth = max;
-            this.total = tot;
         }
 
         @Override
         public boolean tryAdvance(Consumer<? super Object[]> action) {
-            boolean[] onLevel = new boolean[states.length];
-            do {
-                do {
-                    onLevel[coll] = states[coll].depth == depth;
-                    result[coll] = states[coll].next(depth);
-                    while (result[coll] != null && coll < states.length - 1) {
-                        onLevel[++coll] = states[coll].depth == depth;
-                        result[coll] = states[coll].next(depth);
+            while (depth < toDepth) {
+                if (nodes == null) {
+                    init();
+                }
+                while (is[0] < to) {
+                    boolean on = false;
+                    for (int c = 0; c < values.length; c++) {
+                        result[c] = nodes[c][is[c]];
+                        on |= onLevel[c][is[c]];
                     }
-                    if (result[coll] != null) {
-                        for (boolean b : onLevel) {
-                            if (b) {
-                                action.accept(result);
-                                return true;
-                            }
+                    for (int c = values.length - 1; c >= 0; c--) {
+                        if (++is[c] < nodes[c].length || c == 0) {
+                            break;
                         }
-                    } else {
-                        coll--;
+                        is[c] = 0;
                     }
-                } while (coll >= 0);
-                coll = 0;
-            } while (++depth < maxDepth);
+                    if (on) {
+                        action.accept(result);
+                        return true;
+                    }
+                }
+                nodes = null;
+                onLevel = null;
+                is = null;
+                depth++;
+            }
             return false;
         }
 
         @Override
         public Spliterator<Object[]> trySplit() {
-            return null;
+            if (!TreeCollectionImpl.split(total)) {
+                return null;
+            } else if (toDepth - depth > 1) {
+                int mid = Math.max(depth + 1, (depth + toDepth) >>> 1);
+                CompareSpliterator suffix = new CompareSpliterator(values, mid, toDepth, total >>> 1);
+                toDepth = mid;
+                total -= suffix.total;
+                return suffix;
+            } else if (depth < toDepth) {
+                if (nodes == null) {
+                    init();
+                }
+                boolean started = false;
+                for (int c = 1; c < values.length; c++) {
+                    started |= is[c] > 0;
+                }
+                int from = started ? is[0] + 1 : is[0];
+                if (to - from < 2) {
+                    return null;
+                }
+                int mid = (from + to) >>> 1;
+                CompareSpliterator suffix = new CompareSpliterator(values, depth, depth + 1, total >>> 1);
+                suffix.nodes = nodes;
+                suffix.onLevel = onLevel;
+                suffix.is = new int[values.length];
+                suffix.is[0] = mid;
+                suffix.to = to;
+                to = mid;
+                total -= suffix.total;
+                return suffix;
+            } else {
+                return null;
+            }
         }
 
         @Override
@@ -683,12 +776,41 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
 
     @Override
     public List<T> removeAll(Collection<?> e) {
-        @SuppressWarnings("resource")
-        List<T> result = this;
-        for (Object r : e) {
-            result = result.remove(r);
-        }
-        return result;
+        Predicate<Object> keep = removing(e);
+        return keep == null ? this : create(filter(value, keep));
+    }
+
+    // every element of e removes the first remaining occurrence of it, null when e is empty
+    protected static Predicate<Object> removing(Collection<?> e) {
+        java.util.Map<Object, Integer> removed = new HashMap<>();
+        e.forEach(r -> removed.merge(r, 1, Integer::sum));
+        return removed.isEmpty() ? null : o -> {
+            Integer n = removed.get(o);
+            if (n == null) {
+                return true;
+            } else if (n == 1) {
+                removed.remove(o);
+            } else {
+                removed.put(o, n - 1);
+            }
+            return false;
+        };
+    }
+
+    @Override
+    public List<T> retainAll(Collection<?> c) {
+        return create(filter(value, retaining(c)));
+    }
+
+    protected static Predicate<Object> retaining(Collection<?> c) {
+        Set<?> retained = c.toSet();
+        return retained::contains;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<T> removeIf(Predicate<? super T> predicate) {
+        return create(filter(value, o -> !predicate.test((T) o)));
     }
 
     @Override
@@ -716,17 +838,219 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
     @SuppressWarnings("unchecked")
     @Override
     protected StreamCollection<Object[]> getCompareStream(ContainingCollection<? extends T> toCompare) {
-        return (StreamCollection<Object[]>) toSet().compare((ContainingCollection<T>) toCompare.toSet()).map(a -> {
-            Object[] b = new Object[a.length];
-            for (int i = 0; i < a.length; i++) {
-                if (a[i] != null) {
-                    b[i] = ((ListImpl<T>) a[i].toList()).value;
+        Object val1 = value, val2 = ((ListImpl<T>) toCompare).value;
+        java.util.List<Object[]> diff = new ArrayList<>();
+        int begin1 = 0, begin2 = 0;
+        for (int[] anchor : anchors(val1, val2)) {
+            diff(val1, begin1, anchor[0], val2, begin2, anchor[1], diff);
+            begin1 = anchor[0] + anchor[2];
+            begin2 = anchor[1] + anchor[2];
+        }
+        diff(val1, begin1, size(val1), val2, begin2, size(val2), diff);
+        return new StreamCollectionImpl<>(diff.spliterator(), false);
+    }
+
+    // the diff of the ranges between two anchors, only these elements are compared one by one
+    private static void diff(Object val1, int begin1, int end1, Object val2, int begin2, int end2, java.util.List<Object[]> diff) {
+        Object[] es1 = elements(val1, begin1, end1), es2 = elements(val2, begin2, end2);
+        int prefix = 0, suffix = 0, max = Math.min(es1.length, es2.length);
+        while (prefix < max && Objects.equals(es1[prefix], es2[prefix])) {
+            prefix++;
+        }
+        while (suffix < max - prefix && Objects.equals(es1[es1.length - 1 - suffix], es2[es2.length - 1 - suffix])) {
+            suffix++;
+        }
+        if (prefix > 0 || suffix > 0) {
+            es1 = Arrays.copyOfRange(es1, prefix, es1.length - suffix);
+            es2 = Arrays.copyOfRange(es2, prefix, es2.length - suffix);
+            begin1 += prefix;
+            begin2 += prefix;
+        }
+        int[] matches = es1.length > 0 && es2.length > 0 ? matches(es1, es2) : null;
+        for (int i = 0, j = 0; i < es1.length || j < es2.length; ) {
+            if (matches != null && i < es1.length && matches[i] == j) {
+                i++;
+                j++;
+            } else {
+                int i0 = i, j0 = j;
+                while (i < es1.length && (matches == null || matches[i] < 0)) {
+                    i++;
+                }
+                j = i < es1.length ? matches[i] : es2.length;
+                diff.add(new Object[]{i > i0 ? getAllDeep(val1, begin1 + i0, begin1 + i) : null, j > j0 ? getAllDeep(val2, begin2 + j0, begin2 + j) : null});
+            }
+        }
+    }
+
+    // the subtrees that are shared by both lists, as {offset1, offset2, size}, in the order of both lists,
+    // the biggest subtrees are expanded first and shared subtrees are never expanded, so only the edited part is visited
+    private static int[][] anchors(Object val1, Object val2) {
+        IdentityHashMap<Object, Anchor> nodes1 = new IdentityHashMap<>(), nodes2 = new IdentityHashMap<>();
+        PriorityQueue<Anchor> queue = new PriorityQueue<>((a, b) -> Integer.compare(size(b.val), size(a.val)));
+        java.util.List<int[]> shared = new ArrayList<>();
+        Anchor.add(new Anchor(val1, 0, true), nodes1, nodes2, queue, shared);
+        Anchor.add(new Anchor(val2, 0, false), nodes2, nodes1, queue, shared);
+        while (!queue.isEmpty()) {
+            Anchor node = queue.poll();
+            if (!node.shared) {
+                IdentityHashMap<Object, Anchor> own = node.first ? nodes1 : nodes2, other = node.first ? nodes2 : nodes1;
+                own.remove(node.val, node);
+                int offset = node.offset;
+                for (Object v : ((ListMultivalue) node.val).values) {
+                    Anchor.add(new Anchor(v, offset, node.first), own, other, queue, shared);
+                    offset += size(v);
+                }
+            }
+        }
+        return chain(shared.toArray(new int[shared.size()][]));
+    }
+
+    private static final class Anchor {
+        private final Object  val;
+        private final int     offset;
+        private final boolean first;
+        private boolean       shared;
+
+        private Anchor(Object val, int offset, boolean first) {
+            this.val = val;
+            this.offset = offset;
+            this.first = first;
+        }
+
+        private static void add(Anchor node, IdentityHashMap<Object, Anchor> own, IdentityHashMap<Object, Anchor> other, PriorityQueue<Anchor> queue, java.util.List<int[]> shared) {
+            if (node.val instanceof ListMultivalue) {
+                Anchor found = other.remove(node.val);
+                if (found != null) {
+                    found.shared = true;
+                    shared.add(node.first ? new int[]{node.offset, found.offset, size(node.val)} : new int[]{found.offset, node.offset, size(node.val)});
                 } else {
-                    b[i] = null;
+                    own.putIfAbsent(node.val, node);
+                    queue.add(node);
+                }
+            }
+        }
+    }
+
+    // the heaviest chain of shared subtrees that has the same order in both lists (moved subtrees are left out)
+    private static int[][] chain(int[][] shared) {
+        Arrays.sort(shared, (a, b) -> Integer.compare(a[0], b[0]));
+        int k = shared.length;
+        boolean ordered = true;
+        for (int i = 1; i < k && ordered; i++) {
+            ordered = shared[i][1] > shared[i - 1][1];
+        }
+        if (ordered) {
+            return shared;
+        }
+        Integer[] byOffset2 = new Integer[k];
+        for (int i = 0; i < k; i++) {
+            byOffset2[i] = i;
+        }
+        Arrays.sort(byOffset2, (a, b) -> Integer.compare(shared[a][1], shared[b][1]));
+        int[] rank = new int[k];
+        for (int r = 0; r < k; r++) {
+            rank[byOffset2[r]] = r;
+        }
+        long[] weight = new long[k];
+        int[] prev = new int[k];
+        int[] tree = new int[k + 1];
+        Arrays.fill(tree, -1);
+        int last = -1;
+        for (int i = 0; i < k; i++) {
+            int best = -1;
+            for (int r = rank[i]; r > 0; r -= r & -r) {
+                if (tree[r] >= 0 && (best < 0 || weight[tree[r]] > weight[best])) {
+                    best = tree[r];
+                }
+            }
+            prev[i] = best;
+            weight[i] = (best < 0 ? 0 : weight[best]) + shared[i][2];
+            for (int r = rank[i] + 1; r <= k; r += r & -r) {
+                if (tree[r] < 0 || weight[i] > weight[tree[r]]) {
+                    tree[r] = i;
                 }
             }
-            return b;
-        });
+            if (last < 0 || weight[i] > weight[last]) {
+                last = i;
+            }
+        }
+        int n = 0;
+        for (int i = last; i >= 0; i = prev[i]) {
+            n++;
+        }
+        int[][] chain = new int[n][];
+        for (int i = last; i >= 0; i = prev[i]) {
+            chain[--n] = shared[i];
+        }
+        return chain;
+    }
+
+    private static Object[] elements(Object val, int begin, int end) {
+        Object[] result = new Object[end - begin];
+        if (end > begin) {
+            elements(getAllDeep(val, begin, end), result, 0);
+        }
+        return result;
+    }
+
+    private static int elements(Object val, Object[] result, int i) {
+        if (val instanceof ListMultivalue) {
+            for (Object v : ((ListMultivalue) val).values) {
+                i = elements(v, result, i);
+            }
+            return i;
+        } else {
+            result[i] = val;
+            return i + 1;
+        }
+    }
+
+    // Myers' greedy diff, gives for every element of es1 the index of the matching element of es2, or -1,
+    // null is returned when there are more than LIST_DIFF_MAX edits
+    private static int[] matches(Object[] es1, Object[] es2) {
+        int n = es1.length, m = es2.length, max = Math.min(n + m, DIFF_MAX);
+        int[] v = new int[2 * max + 3];
+        int[][] trace = new int[max + 1][];
+        int d = 0;
+        found:
+        for (; d <= max; d++) {
+            trace[d] = Arrays.copyOfRange(v, max - d, max + d + 3);
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[max + 1 + k - 1] < v[max + 1 + k + 1]) ? v[max + 1 + k + 1] : v[max + 1 + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && Objects.equals(es1[x], es2[y])) {
+                    x++;
+                    y++;
+                }
+                v[max + 1 + k] = x;
+                if (x >= n && y >= m) {
+                    break found;
+                }
+            }
+        }
+        if (d > max) {
+            return null;
+        }
+        int[] matches = new int[n];
+        Arrays.fill(matches, -1);
+        for (int x = n, y = m; d >= 0; d--) {
+            int[] t = trace[d];
+            int k = x - y, px, pk;
+            if (d == 0) {
+                px = 0;
+                pk = 0;
+            } else {
+                pk = k == -d || (k != d && t[d + k] < t[d + k + 2]) ? k + 1 : k - 1;
+                px = t[d + 1 + pk];
+            }
+            int py = px - pk;
+            while (x > px && y > py) {
+                matches[--x] = --y;
+            }
+            x = px;
+            y = py;
+        }
+        return matches;
     }
 
     @SuppressWarnings("resource")
@@ -741,18 +1065,48 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
             }
         }
         List<T> result = biggest >= 0 ? branches[biggest] : this;
+        java.util.Set<Object> base = null;
         for (int i = 0; i < length; i++) {
             if (i != biggest) {
+                if (base == null) {
+                    base = new HashSet<>(size());
+                    forEach(base::add);
+                }
+                java.util.Set<Object> branch = new HashSet<>(branches[i].size());
+                branches[i].forEach(branch::add);
+                // every base element that the branch lacks removes its first remaining occurrence from the result
+                java.util.Map<Object, Integer> removed = new HashMap<>();
                 for (T t : this) {
-                    if (!branches[i].contains(t)) {
-                        result = result.remove(t);
+                    if (!branch.contains(t)) {
+                        removed.merge(t, 1, Integer::sum);
                     }
                 }
-                for (int eb = 0; eb < branches[i].size(); eb++) {
-                    T t = branches[i].get(eb);
-                    if (!contains(t) && !result.contains(t)) {
+                java.util.Set<Object> present = new HashSet<>(result.size());
+                int[] indexes = new int[removed.isEmpty() ? 0 : result.size()];
+                int nr = 0, index = 0;
+                for (T t : result) {
+                    Integer count = removed.isEmpty() ? null : removed.get(t);
+                    if (count != null) {
+                        indexes[nr++] = index;
+                        if (count == 1) {
+                            removed.remove(t);
+                        } else {
+                            removed.put(t, count - 1);
+                        }
+                    } else {
+                        present.add(t);
+                    }
+                    index++;
+                }
+                while (nr > 0) {
+                    result = result.removeIndex(indexes[--nr]);
+                }
+                int eb = 0;
+                for (T t : branches[i]) {
+                    if (!base.contains(t) && present.add(t)) {
                         result = result.insert(Math.min(result.size(), eb), t);
                     }
+                    eb++;
                 }
             }
         }
@@ -793,64 +1147,95 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         return i >= 0 && i < size() - 1 ? get(i) : null;
     }
 
-    @SuppressWarnings("resource")
     @Override
     public <R> List<R> reuse(List<R> reused, BiFunction<R, T, Boolean> matcher, BiConsumer<R, T> changer, Function<R, Long> identity, BiFunction<R, T, Boolean> reusable, BiFunction<Long, T, R> constructor) {
-        List<R> result = List.of();
-        int begin = 0;
+        return reuse(reused, matcher, null, null, changer, identity, reusable, constructor);
+    }
+
+    @Override
+    public <K, R> List<R> reuse(List<R> reused, Function<R, K> sourceKey, Function<T, K> targetKey, BiConsumer<R, T> changer, Function<R, Long> identity, BiFunction<R, T, Boolean> reusable, BiFunction<Long, T, R> constructor) {
+        return reuse(reused, (r, t) -> Objects.equals(sourceKey.apply(r), targetKey.apply(t)), sourceKey, targetKey, changer, identity, reusable, constructor);
+    }
+
+    // matches the common prefix and suffix, then every remaining target with the first remaining matching source,
+    // through a hash index when keys are given, and finally reuses or constructs a source for the unmatched targets
+    @SuppressWarnings("unchecked")
+    private <K, R> List<R> reuse(List<R> reused, BiFunction<R, T, Boolean> matcher, Function<R, K> sourceKey, Function<T, K> targetKey, BiConsumer<R, T> changer, Function<R, Long> identity, BiFunction<R, T, Boolean> reusable, BiFunction<Long, T, R> constructor) {
+        Object[] targets = toArray();
+        Object[] sources = reused.toArray();
+        Object[] result = new Object[targets.length];
+        boolean[] used = new boolean[sources.length];
         long id = -1;
-        for (T target : this) {
-            R source = reused.first();
-            if (source != null && matcher.apply(source, target)) {
-                id = Math.max(id, identity.apply(source));
-                reused = reused.removeIndex(0);
-                changer.accept(source, target);
-                result = result.append(source);
-            } else {
-                break;
-            }
-            begin++;
-        }
-        int end = size();
-        for (; end > begin; end--) {
-            T target = get(end - 1);
-            R source = reused.last();
-            if (source != null && matcher.apply(source, target)) {
-                id = Math.max(id, identity.apply(source));
-                reused = reused.removeIndex(reused.size() - 1);
-                changer.accept(source, target);
-                result = result.insert(begin, source);
-            } else {
-                break;
+        int begin = 0, first = 0;
+        while (begin < targets.length && first < sources.length && matcher.apply((R) sources[first], (T) targets[begin])) {
+            id = Math.max(id, identity.apply((R) sources[first]));
+            changer.accept((R) sources[first], (T) targets[begin]);
+            used[first] = true;
+            result[begin++] = sources[first++];
+        }
+        int end = targets.length, last = sources.length;
+        while (end > begin && last > first && matcher.apply((R) sources[last - 1], (T) targets[end - 1])) {
+            id = Math.max(id, identity.apply((R) sources[last - 1]));
+            changer.accept((R) sources[last - 1], (T) targets[end - 1]);
+            used[--last] = true;
+            result[--end] = sources[last];
+        }
+        java.util.Map<K, ArrayDeque<Integer>> index = null;
+        if (sourceKey != null) {
+            index = new HashMap<>();
+            for (int s = first; s < last; s++) {
+                index.computeIfAbsent(sourceKey.apply((R) sources[s]), k -> new ArrayDeque<>()).add(s);
             }
         }
-        List<Pair<Integer, T>> todo = List.of();
+        java.util.List<Integer> todo = new ArrayList<>();
         for (int i = begin; i < end; i++) {
-            T target = get(i);
-            R source = reused.filter(o -> matcher.apply(o, target)).findFirst().orElse(null);
-            if (source != null) {
-                id = Math.max(id, identity.apply(source));
-                reused = reused.remove(source);
-                changer.accept(source, target);
-                result = result.insert(result.size() - size() + end, source);
+            T target = (T) targets[i];
+            int found = -1;
+            if (index != null) {
+                ArrayDeque<Integer> candidates = index.get(targetKey.apply(target));
+                if (candidates != null && !candidates.isEmpty()) {
+                    found = candidates.poll();
+                }
             } else {
-                todo = todo.append(Pair.of(i, target));
+                for (int s = first; found < 0 && s < last; s++) {
+                    if (!used[s] && matcher.apply((R) sources[s], target)) {
+                        found = s;
+                    }
+                }
+            }
+            if (found >= 0) {
+                id = Math.max(id, identity.apply((R) sources[found]));
+                changer.accept((R) sources[found], target);
+                used[found] = true;
+                result[i] = sources[found];
+            } else {
+                todo.add(i);
             }
         }
-        for (R source : reused) {
-            id = Math.max(id, identity.apply(source));
+        java.util.List<R> rest = new ArrayList<>();
+        for (int s = first; s < last; s++) {
+            if (!used[s]) {
+                id = Math.max(id, identity.apply((R) sources[s]));
+                rest.add((R) sources[s]);
+            }
         }
-        for (Pair<Integer, T> target : todo) {
-            R source = reused.filter(o -> reusable.apply(o, target.b())).findFirst().orElse(null);
-            if (source != null) {
-                reused = reused.remove(source);
-            } else {
-                source = constructor.apply(++id, target.b());
+        for (int i : todo) {
+            T target = (T) targets[i];
+            R source = null;
+            for (Iterator<R> it = rest.iterator(); source == null && it.hasNext(); ) {
+                R r = it.next();
+                if (reusable.apply(r, target)) {
+                    source = r;
+                    it.remove();
+                }
+            }
+            if (source == null) {
+                source = constructor.apply(++id, target);
             }
-            changer.accept(source, target.b());
-            result = result.insert(target.a(), source);
+            changer.accept(source, target);
+            result[i] = source;
         }
-        return result;
+        return result.length == 0 ? List.of() : new ListImpl<>((R[]) result);
     }
 
     @Override
@@ -893,6 +1278,15 @@ public class ListImpl<T> extends TreeCollectionImpl<T> implements List<T> {
         return new ListImpl<>(entries);
     }
 
+    @Override
+    public void javaDeserialize(Deserializer s) {
+        Object[] es = new Object[s.readInt()];
+        for (int i = 0; i < es.length; i++) {
+            es[i] = s.readObject();
+        }
+        value = build(es);
+    }
+
     @Override
     public List<T> clear() {
         return create(null);
@@ -0,0 +1,152 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+import org.modelingvalue.collections.LongList;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class LongListImpl extends PrimitiveListImpl<LongList> implements LongList {
+
+    private static final long    serialVersionUID = 3346520863640379130L;
+
+    public static final LongList EMPTY            = new LongListImpl(null);
+
+    public static LongList of(long[] elements) {
+        return new LongListImpl(chunked(elements));
+    }
+
+    public LongListImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected LongList create(Object val) {
+        return val != value ? (val == null ? EMPTY : new LongListImpl(val)) : this;
+    }
+
+    @Override
+    protected Object newArray(int length) {
+        return new long[length];
+    }
+
+    @Override
+    public long get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        return getLong(value, index);
+    }
+
+    @Override
+    public long first() {
+        return get(0);
+    }
+
+    @Override
+    public long last() {
+        return get(size() - 1);
+    }
+
+    @Override
+    public LongList append(long e) {
+        return insert(size(), e);
+    }
+
+    @Override
+    public LongList prepend(long e) {
+        return insert(0, e);
+    }
+
+    @Override
+    public LongList insert(int position, long e) {
+        return insertSingle(position, new long[]{e});
+    }
+
+    @Override
+    public LongList replace(int position, long replacement) {
+        return replaceSingle(position, new long[]{replacement});
+    }
+
+    @Override
+    public int firstIndexOf(long e) {
+        return firstIndexOf(new long[]{e});
+    }
+
+    @Override
+    public int lastIndexOf(long e) {
+        return lastIndexOf(new long[]{e});
+    }
+
+    @Override
+    public boolean contains(long e) {
+        return firstIndexOf(e) >= 0;
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new Iterator(value);
+    }
+
+    private static final class Iterator extends ChunkIterator implements PrimitiveIterator.OfLong {
+        private Iterator(Object value) {
+            super(value);
+        }
+
+        @Override
+        public long nextLong() {
+            int i = advance();
+            return ((long[]) chunk())[i];
+        }
+    }
+
+    @Override
+    public LongStream stream() {
+        return Arrays.stream(chunks(value)).flatMapToLong(c -> Arrays.stream((long[]) c));
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        forEachChunk(value, c -> {
+            for (long e : (long[]) c) {
+                action.accept(e);
+            }
+        });
+    }
+
+    @Override
+    public long[] toArray() {
+        return (long[]) array();
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private static LongList deserialize(Deserializer s) {
+        LongListImpl list = new LongListImpl(null);
+        list.javaDeserialize(s);
+        return list.isEmpty() ? EMPTY : list;
+    }
+
+}
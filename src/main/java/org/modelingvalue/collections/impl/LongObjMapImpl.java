@@ -0,0 +1,148 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Objects;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.LongObjMap;
+import org.modelingvalue.collections.LongSet;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.LongObjConsumer;
+import org.modelingvalue.collections.util.Pair;
+import org.modelingvalue.collections.util.Serializer;
+
+public class LongObjMapImpl<V> extends PrimitiveHashImpl implements LongObjMap<V> {
+
+    private static final long      serialVersionUID = 4470290391853565327L;
+
+    @SuppressWarnings("rawtypes")
+    public static final LongObjMap EMPTY            = new LongObjMapImpl((Object) null);
+
+    public LongObjMapImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected int bits() {
+        return Long.SIZE;
+    }
+
+    @Override
+    protected boolean hasValues() {
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <W> LongObjMap<W> create(Object val) {
+        return val != value ? (val == null ? EMPTY : new LongObjMapImpl<>(val)) : (LongObjMap<W>) this;
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        return lookup(key) != null;
+    }
+
+    @Override
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getOrDefault(long key, V defaultValue) {
+        Object v = lookup(key);
+        return v == null ? defaultValue : (V) v;
+    }
+
+    @Override
+    public LongObjMap<V> put(long key, V val) {
+        return create(with(key, Objects.requireNonNull(val)));
+    }
+
+    @Override
+    public LongObjMap<V> removeKey(long key) {
+        return create(without(key));
+    }
+
+    @Override
+    public LongObjMap<V> putAll(LongObjMap<? extends V> c) {
+        return create(joinWith(c, UNION));
+    }
+
+    @Override
+    public LongObjMap<V> removeAllKey(LongSet keys) {
+        return create(joinWith(keys, DIFFERENCE));
+    }
+
+    @Override
+    public LongObjMap<Pair<V, V>> diff(LongObjMap<V> other) {
+        return create(joinWith(other, DIFF));
+    }
+
+    @Override
+    public LongSet toKeys() {
+        return value == null ? LongSetImpl.EMPTY : new LongSetImpl(keySet(value));
+    }
+
+    @Override
+    public Collection<V> toValues() {
+        return valueCollection();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(LongObjConsumer<? super V> action) {
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            action.accept(c.nextKey(), (V) c.value());
+        }
+    }
+
+    @Override
+    public LongObjMap<V> clear() {
+        return create(null);
+    }
+
+    @Override
+    public LongObjMap<V> merge(LongObjMap<V>[] branches, int length) {
+        return create(mergeWith(branches, length));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public LongObjMap<V> getMerger() {
+        return EMPTY;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Class<LongObjMap> getMeetClass() {
+        return LongObjMap.class;
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings({"unchecked", "unused"})
+    private static <V> LongObjMap<V> deserialize(Deserializer s) {
+        LongObjMapImpl<V> map = new LongObjMapImpl<>(null);
+        map.javaDeserialize(s);
+        return map.isEmpty() ? EMPTY : map;
+    }
+
+}
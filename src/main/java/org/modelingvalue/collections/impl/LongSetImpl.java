@@ -0,0 +1,157 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+import org.modelingvalue.collections.LongSet;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public class LongSetImpl extends PrimitiveHashImpl implements LongSet {
+
+    private static final long   serialVersionUID = -1542917860153217744L;
+
+    public static final LongSet EMPTY            = new LongSetImpl(null);
+
+    public static LongSet of(long[] elements) {
+        return new LongSetImpl(build(mix(elements), Long.SIZE));
+    }
+
+    public LongSetImpl(Object value) {
+        super(value);
+    }
+
+    @Override
+    protected int bits() {
+        return Long.SIZE;
+    }
+
+    protected LongSet create(Object val) {
+        return val != value ? (val == null ? EMPTY : new LongSetImpl(val)) : this;
+    }
+
+    @Override
+    public boolean contains(long e) {
+        return lookup(e) != null;
+    }
+
+    @Override
+    public boolean containsAll(LongSet c) {
+        return includes(c);
+    }
+
+    @Override
+    public LongSet add(long e) {
+        return create(with(e, PRESENT));
+    }
+
+    @Override
+    public LongSet remove(long e) {
+        return create(without(e));
+    }
+
+    @Override
+    public LongSet addAll(LongSet c) {
+        return create(joinWith(c, UNION));
+    }
+
+    @Override
+    public LongSet removeAll(LongSet c) {
+        return create(joinWith(c, DIFFERENCE));
+    }
+
+    @Override
+    public LongSet retainAll(LongSet c) {
+        return create(joinWith(c, INTERSECTION));
+    }
+
+    @Override
+    public LongSet[] compare(LongSet other) {
+        return new LongSet[]{removeAll(other), other.removeAll(this)};
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        Cursor cursor = new Cursor(value);
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public long nextLong() {
+                return cursor.nextKey();
+            }
+        };
+    }
+
+    @Override
+    public LongStream stream() {
+        return StreamSupport.longStream(Spliterators.spliterator(iterator(), size(), Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            action.accept(c.nextKey());
+        }
+    }
+
+    @Override
+    public long[] toArray() {
+        return (long[]) keyArray();
+    }
+
+    @Override
+    public LongSet clear() {
+        return EMPTY;
+    }
+
+    @Override
+    public LongSet merge(LongSet[] branches, int length) {
+        return create(mergeWith(branches, length));
+    }
+
+    @Override
+    public LongSet getMerger() {
+        return EMPTY;
+    }
+
+    @Override
+    public Class<LongSet> getMeetClass() {
+        return LongSet.class;
+    }
+
+    @SuppressWarnings("unused")
+    private void serialize(Serializer s) {
+        javaSerialize(s);
+    }
+
+    @SuppressWarnings("unused")
+    private static LongSet deserialize(Deserializer s) {
+        LongSetImpl set = new LongSetImpl(null);
+        set.javaDeserialize(s);
+        return set.isEmpty() ? EMPTY : set;
+    }
+
+}
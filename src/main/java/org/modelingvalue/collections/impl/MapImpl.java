@@ -48,7 +48,7 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
     public static final Map                      EMPTY            = new MapImpl((Object) null);
 
     public MapImpl(Entry<K, V>[] entries) {
-        this.value = entries.length == 1 ? entries[0] : putAll(null, key(), entries);
+        this.value = build(key(), entries, true);
     }
 
     protected MapImpl(Object value) {
@@ -59,6 +59,78 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
         javaDeserialize(s);
     }
 
+    public static final class BuilderImpl<K, V> extends BufferedBuilderImpl implements Map.Builder<K, V> {
+
+        @Override
+        public Map.Builder<K, V> put(K key, V value) {
+            push(Entry.of(key, value));
+            return this;
+        }
+
+        @Override
+        public Map.Builder<K, V> put(Entry<K, V> entry) {
+            push(entry);
+            return this;
+        }
+
+        @Override
+        public Map.Builder<K, V> putAll(Iterable<? extends Entry<K, V>> entries) {
+            pushAll(entries);
+            return this;
+        }
+
+        @Override
+        public Map.Builder<K, V> putAll(Map.Builder<K, V> other) {
+            pushAll((BufferedBuilderImpl) other);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map<K, V> build() {
+            Object value = HashCollectionImpl.build(KEY, buffer, length, true);
+            return value == null ? EMPTY : new MapImpl<>(value);
+        }
+    }
+
+    public static final class ParallelBuilderImpl<K, V> extends PartitionedBuilderImpl implements Map.Builder<K, V> {
+
+        public ParallelBuilderImpl() {
+            super(KEY);
+        }
+
+        @Override
+        public Map.Builder<K, V> put(K key, V value) {
+            push(Entry.of(key, value));
+            return this;
+        }
+
+        @Override
+        public Map.Builder<K, V> put(Entry<K, V> entry) {
+            push(entry);
+            return this;
+        }
+
+        @Override
+        public Map.Builder<K, V> putAll(Iterable<? extends Entry<K, V>> entries) {
+            pushAll(entries);
+            return this;
+        }
+
+        @Override
+        public Map.Builder<K, V> putAll(Map.Builder<K, V> other) {
+            pushAll((PartitionedBuilderImpl) other);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map<K, V> build() {
+            Object value = build(true);
+            return value == null ? EMPTY : new MapImpl<>(value);
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     protected final Function<Entry<K, V>, Object> key() {
@@ -364,14 +436,29 @@ public class MapImpl<K, V> extends HashCollectionImpl<Entry<K, V>> implements Ma
         return Map.class;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Map<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate) {
-        return filter(e -> keyPredicate.test(e.getKey()) && valuePredicate.test(e.getValue())).toMap(Function.identity());
+        return create(replaceAll(value, e -> keyPredicate.test(((Entry<K, V>) e).getKey()) && valuePredicate.test(((Entry<K, V>) e).getValue()) ? e : null, isParallel()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public <W> Map<K, W> mapValues(BiFunction<? super K, ? super V, ? extends W> function) {
+        return (Map) create(replaceAll(value, e -> {
+            Entry<K, V> entry = (Entry<K, V>) e;
+            W val = function.apply(entry.getKey(), entry.getValue());
+            return val == entry.getValue() ? entry : val != null ? Entry.of(entry.getKey(), val) : null;
+        }, isParallel()));
     }
 
     @Override
     public void forEach(BiConsumer<K, V> action) {
-        forEach(e -> action.accept(e.getKey(), e.getValue()));
+        if (isParallel() && !SEQUENTIAL_ONLY.get()) {
+            forEach(e -> action.accept(e.getKey(), e.getValue()));
+        } else {
+            forEachEntry(value, action);
+        }
     }
 
     private void writeObject(ObjectOutputStream s) throws IOException {
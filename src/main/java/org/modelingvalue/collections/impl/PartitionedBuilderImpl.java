@@ -0,0 +1,65 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.function.Function;
+
+abstract class PartitionedBuilderImpl {
+
+    @SuppressWarnings("rawtypes")
+    private final Function              key;
+    private final BufferedBuilderImpl[] parts = new BufferedBuilderImpl[HashCollectionImpl.rootParts()];
+
+    @SuppressWarnings("rawtypes")
+    protected PartitionedBuilderImpl(Function key) {
+        this.key = key;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void push(Object e) {
+        if (e != null) {
+            part(HashCollectionImpl.rootPart(key.apply(e).hashCode())).push(e);
+        }
+    }
+
+    protected void pushAll(Iterable<?> es) {
+        for (Object e : es) {
+            push(e);
+        }
+    }
+
+    protected void pushAll(PartitionedBuilderImpl other) {
+        for (int p = 0; p < parts.length; p++) {
+            if (other.parts[p] != null) {
+                part(p).pushAll(other.parts[p]);
+            }
+        }
+    }
+
+    protected Object build(boolean replace) {
+        return HashCollectionImpl.build(key, parts, replace);
+    }
+
+    private BufferedBuilderImpl part(int p) {
+        BufferedBuilderImpl part = parts[p];
+        if (part == null) {
+            part = new BufferedBuilderImpl() {
+            };
+            parts[p] = part;
+        }
+        return part;
+    }
+}
@@ -0,0 +1,938 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.util.ArrayUtil;
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Mergeables;
+import org.modelingvalue.collections.util.Pair;
+import org.modelingvalue.collections.util.Serializer;
+import org.modelingvalue.collections.util.StringUtil;
+
+public abstract class PrimitiveHashImpl implements Serializable {
+
+    private static final long     serialVersionUID = -3197283146523870548L;
+
+    private static final int      PART_SIZE        = Integer.getInteger("PRIMITIVE_PARTITION_SIZE", 4);
+    private static final int      PART_MASK        = (1 << PART_SIZE) - 1;
+    private static final int      MAX_DEPTH        = (Long.SIZE + PART_SIZE - 1) / PART_SIZE + 1;
+    private static final int      LEAF_SIZE        = Integer.getInteger("PRIMITIVE_LEAF_SIZE", 128);
+
+    // odd multipliers, so mixing is a bijection and only the mixed keys need to be stored
+    private static final int      INT_MIX          = 0x9E3779B9;
+    private static final int      INT_UNMIX        = inverse(INT_MIX);
+    private static final long     LONG_MIX         = 0x9E3779B97F4A7C15L;
+    private static final long     LONG_UNMIX       = inverse(LONG_MIX);
+
+    protected static final Object PRESENT          = new Object();
+    private static final Object   NONE             = new Object();
+
+    protected static final Join   UNION            = new Join() {
+                                                       @Override
+                                                       protected Object node(Object[] vs, int l) {
+                                                           return vs[0] == vs[1] || vs[1] == null ? vs[0] : vs[0] == null ? vs[1] : NONE;
+                                                       }
+
+                                                       @Override
+                                                       protected Object entry(Object[] es, int l) {
+                                                           return es[1] == null || es[1].equals(es[0]) ? es[0] : es[1];
+                                                       }
+                                                   };
+
+    protected static final Join   DIFFERENCE       = new Join() {
+                                                       @Override
+                                                       protected Object node(Object[] vs, int l) {
+                                                           return vs[0] == vs[1] || vs[0] == null ? null : vs[1] == null ? vs[0] : NONE;
+                                                       }
+
+                                                       @Override
+                                                       protected Object entry(Object[] es, int l) {
+                                                           return es[1] == null ? es[0] : null;
+                                                       }
+                                                   };
+
+    protected static final Join   INTERSECTION     = new Join() {
+                                                       @Override
+                                                       protected Object node(Object[] vs, int l) {
+                                                           return vs[0] == null || vs[1] == null ? null : vs[0] == vs[1] ? vs[0] : NONE;
+                                                       }
+
+                                                       @Override
+                                                       protected Object entry(Object[] es, int l) {
+                                                           return es[1] == null ? null : es[0];
+                                                       }
+                                                   };
+
+    protected static final Join   DIFF             = new Join() {
+                                                       @Override
+                                                       protected Object node(Object[] vs, int l) {
+                                                           return vs[0] == vs[1] ? null : NONE;
+                                                       }
+
+                                                       @Override
+                                                       protected Object entry(Object[] es, int l) {
+                                                           return Objects.equals(es[0], es[1]) ? null : Pair.of(es[0], es[1]);
+                                                       }
+                                                   };
+
+    protected static final Join   MERGE            = new Join() {
+                                                       @Override
+                                                       protected Object node(Object[] vs, int l) {
+                                                           Object r = vs[0];
+                                                           for (int i = 1; i < l; i++) {
+                                                               if (vs[i] != vs[0] && vs[i] != r) {
+                                                                   if (r != vs[0]) {
+                                                                       return NONE;
+                                                                   } else {
+                                                                       r = vs[i];
+                                                                   }
+                                                               }
+                                                           }
+                                                           return r;
+                                                       }
+
+                                                       @Override
+                                                       protected Object entry(Object[] es, int l) {
+                                                           Object r = es[0];
+                                                           for (int i = 1; i < l; i++) {
+                                                               if (!Objects.equals(es[i], es[0]) && !Objects.equals(es[i], r)) {
+                                                                   if (!Objects.equals(es[0], r)) {
+                                                                       return mergeValues(es, l);
+                                                                   } else {
+                                                                       r = es[i];
+                                                                   }
+                                                               }
+                                                           }
+                                                           return r;
+                                                       }
+                                                   };
+
+    transient protected Object    value;
+    private transient int         hash;
+
+    static {
+        if (PART_SIZE < 2 || PART_SIZE > 6) {
+            throw new Error("PRIMITIVE_PARTITION_SIZE must be 2, 3, 4, 5 or 6");
+        }
+    }
+
+    protected PrimitiveHashImpl(Object value) {
+        this.value = value;
+    }
+
+    private static int inverse(int m) {
+        int x = m;
+        for (int i = 0; i < 5; i++) {
+            x *= 2 - m * x;
+        }
+        return x;
+    }
+
+    private static long inverse(long m) {
+        long x = m;
+        for (int i = 0; i < 6; i++) {
+            x *= 2 - m * x;
+        }
+        return x;
+    }
+
+    protected static long mix(int e) {
+        return Integer.toUnsignedLong(e * INT_MIX);
+    }
+
+    protected static int unmixInt(long h) {
+        return (int) h * INT_UNMIX;
+    }
+
+    protected static long mix(long e) {
+        return e * LONG_MIX;
+    }
+
+    protected static long unmixLong(long h) {
+        return h * LONG_UNMIX;
+    }
+
+    protected static long[] mix(int[] es) {
+        long[] hs = new long[es.length];
+        for (int i = 0; i < hs.length; i++) {
+            hs[i] = mix(es[i]);
+        }
+        return hs;
+    }
+
+    protected static long[] mix(long[] es) {
+        long[] hs = new long[es.length];
+        for (int i = 0; i < hs.length; i++) {
+            hs[i] = mix(es[i]);
+        }
+        return hs;
+    }
+
+    private static final class Node {
+        private final long     mask;
+        private final Object[] children;
+        private final int      size;
+
+        private Node(long mask, Object[] children, int size) {
+            this.mask = mask;
+            this.children = children;
+            this.size = size;
+        }
+    }
+
+    private static final class MapLeaf {
+        private final Object   keys;
+        private final Object[] values;
+
+        private MapLeaf(Object keys, Object[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+
+    protected abstract static class Join {
+
+        protected Object node(Object[] vs, int l) {
+            return NONE;
+        }
+
+        protected abstract Object entry(Object[] es, int l);
+
+    }
+
+    protected static int size(Object v) {
+        return v == null ? 0 : v instanceof Node ? ((Node) v).size : length(keys(v));
+    }
+
+    private static Object keys(Object leaf) {
+        return leaf instanceof MapLeaf ? ((MapLeaf) leaf).keys : leaf;
+    }
+
+    private static Object[] values(Object leaf) {
+        return leaf instanceof MapLeaf ? ((MapLeaf) leaf).values : null;
+    }
+
+    private static Object leaf(Object keys, Object[] values) {
+        return values == null ? keys : new MapLeaf(keys, values);
+    }
+
+    private static Object single(long h, Object val, int bits) {
+        return leaf(bits == Integer.SIZE ? new int[]{(int) h} : new long[]{h}, val == PRESENT ? null : new Object[]{val});
+    }
+
+    private static int length(Object keys) {
+        return keys instanceof int[] ? ((int[]) keys).length : ((long[]) keys).length;
+    }
+
+    private static long key(Object keys, int i) {
+        return keys instanceof int[] ? Integer.toUnsignedLong(((int[]) keys)[i]) : ((long[]) keys)[i];
+    }
+
+    private static Object newKeys(int length, int bits) {
+        return bits == Integer.SIZE ? new int[length] : new long[length];
+    }
+
+    private static void set(Object keys, int i, long h) {
+        if (keys instanceof int[]) {
+            ((int[]) keys)[i] = (int) h;
+        } else {
+            ((long[]) keys)[i] = h;
+        }
+    }
+
+    private static Object copy(Object keys, int from, int to) {
+        return keys instanceof int[] ? Arrays.copyOfRange((int[]) keys, from, to) : Arrays.copyOfRange((long[]) keys, from, to);
+    }
+
+    private static Object insert(Object keys, int i, long h) {
+        int l = length(keys);
+        Object r = newKeys(l + 1, keys instanceof int[] ? Integer.SIZE : Long.SIZE);
+        System.arraycopy(keys, 0, r, 0, i);
+        System.arraycopy(keys, i, r, i + 1, l - i);
+        set(r, i, h);
+        return r;
+    }
+
+    private static Object delete(Object keys, int i) {
+        int l = length(keys);
+        Object r = newKeys(l - 1, keys instanceof int[] ? Integer.SIZE : Long.SIZE);
+        System.arraycopy(keys, 0, r, 0, i);
+        System.arraycopy(keys, i + 1, r, i, l - i - 1);
+        return r;
+    }
+
+    private static Object[] insert(Object[] a, int i, Object e) {
+        Object[] r = new Object[a.length + 1];
+        System.arraycopy(a, 0, r, 0, i);
+        System.arraycopy(a, i, r, i + 1, a.length - i);
+        r[i] = e;
+        return r;
+    }
+
+    private static Object[] delete(Object[] a, int i) {
+        Object[] r = new Object[a.length - 1];
+        System.arraycopy(a, 0, r, 0, i);
+        System.arraycopy(a, i + 1, r, i, a.length - i - 1);
+        return r;
+    }
+
+    private static int part(long h, int bits, int level) {
+        int shift = bits - (level + 1) * PART_SIZE;
+        return (int) (shift >= 0 ? h >>> shift : h << -shift) & PART_MASK;
+    }
+
+    private static int search(Object keys, long h) {
+        int lo = 0;
+        if (keys instanceof int[]) {
+            int[] a = (int[]) keys;
+            int x = (int) h;
+            int hi = a.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = Integer.compareUnsigned(a[mid], x);
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+        } else {
+            long[] a = (long[]) keys;
+            int hi = a.length - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int c = Long.compareUnsigned(a[mid], h);
+                if (c < 0) {
+                    lo = mid + 1;
+                } else if (c > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+        }
+        return -(lo + 1);
+    }
+
+    protected static Object get(Object v, long h, int bits) {
+        for (int level = 0; v instanceof Node; level++) {
+            Node n = (Node) v;
+            long bit = 1L << part(h, bits, level);
+            if ((n.mask & bit) == 0) {
+                return null;
+            }
+            v = n.children[Long.bitCount(n.mask & (bit - 1))];
+        }
+        if (v == null) {
+            return null;
+        }
+        int i = search(keys(v), h);
+        return i < 0 ? null : v instanceof MapLeaf ? ((MapLeaf) v).values[i] : PRESENT;
+    }
+
+    protected static Object put(Object v, long h, Object val, int bits) {
+        return put(v, h, val, 0, bits);
+    }
+
+    private static Object put(Object v, long h, Object val, int level, int bits) {
+        if (v == null) {
+            return single(h, val, bits);
+        } else if (v instanceof Node) {
+            Node n = (Node) v;
+            long bit = 1L << part(h, bits, level);
+            int i = Long.bitCount(n.mask & (bit - 1));
+            if ((n.mask & bit) == 0) {
+                return new Node(n.mask | bit, insert(n.children, i, single(h, val, bits)), n.size + 1);
+            }
+            Object c = n.children[i];
+            Object r = put(c, h, val, level + 1, bits);
+            if (r == c) {
+                return n;
+            }
+            Object[] cs = n.children.clone();
+            cs[i] = r;
+            return new Node(n.mask, cs, n.size + size(r) - size(c));
+        } else {
+            Object keys = keys(v);
+            Object[] values = values(v);
+            int i = search(keys, h);
+            if (i >= 0) {
+                if (values == null || values[i].equals(val)) {
+                    return v;
+                }
+                values = values.clone();
+                values[i] = val;
+                return new MapLeaf(keys, values);
+            }
+            i = -i - 1;
+            keys = insert(keys, i, h);
+            values = values == null ? null : insert(values, i, val);
+            return build(keys, values, 0, length(keys), level, bits);
+        }
+    }
+
+    protected static Object remove(Object v, long h, int bits) {
+        return remove(v, h, 0, bits);
+    }
+
+    private static Object remove(Object v, long h, int level, int bits) {
+        if (v == null) {
+            return null;
+        } else if (v instanceof Node) {
+            Node n = (Node) v;
+            long bit = 1L << part(h, bits, level);
+            if ((n.mask & bit) == 0) {
+                return n;
+            }
+            int i = Long.bitCount(n.mask & (bit - 1));
+            Object c = n.children[i];
+            Object r = remove(c, h, level + 1, bits);
+            if (r == c) {
+                return n;
+            } else if (n.size - 1 <= LEAF_SIZE) {
+                Object[] cs = n.children.clone();
+                cs[i] = r;
+                return flatten(cs, n.size - 1, bits);
+            } else if (r == null) {
+                return new Node(n.mask & ~bit, delete(n.children, i), n.size - 1);
+            } else {
+                Object[] cs = n.children.clone();
+                cs[i] = r;
+                return new Node(n.mask, cs, n.size - 1);
+            }
+        } else {
+            Object keys = keys(v);
+            Object[] values = values(v);
+            int i = search(keys, h);
+            if (i < 0) {
+                return v;
+            } else if (length(keys) == 1) {
+                return null;
+            }
+            return leaf(delete(keys, i), values == null ? null : delete(values, i));
+        }
+    }
+
+    // a subtree is a node exactly when it holds more than LEAF_SIZE entries, so equal contents give equal structures
+    private static Object build(Object keys, Object[] values, int from, int to, int level, int bits) {
+        if (from == to) {
+            return null;
+        } else if (to - from <= LEAF_SIZE) {
+            return from == 0 && to == length(keys) ? leaf(keys, values) : leaf(copy(keys, from, to), values == null ? null : Arrays.copyOfRange(values, from, to));
+        }
+        Object[] cs = new Object[PART_MASK + 1];
+        long mask = 0L;
+        int n = 0;
+        for (int i = from; i < to;) {
+            int p = part(key(keys, i), bits, level);
+            int j = i + 1;
+            while (j < to && part(key(keys, j), bits, level) == p) {
+                j++;
+            }
+            cs[n++] = build(keys, values, i, j, level + 1, bits);
+            mask |= 1L << p;
+            i = j;
+        }
+        return new Node(mask, Arrays.copyOf(cs, n), to - from);
+    }
+
+    private static Object flatten(Object[] children, int size, int bits) {
+        Object keys = newKeys(size, bits);
+        Object[] values = null;
+        int at = 0;
+        for (Object c : children) {
+            if (c != null) {
+                Object ks = keys(c);
+                int l = length(ks);
+                System.arraycopy(ks, 0, keys, at, l);
+                if (c instanceof MapLeaf) {
+                    if (values == null) {
+                        values = new Object[size];
+                    }
+                    System.arraycopy(((MapLeaf) c).values, 0, values, at, l);
+                }
+                at += l;
+            }
+        }
+        return leaf(keys, values);
+    }
+
+    // builds a set from mixed keys given in any order, duplicates allowed
+    protected static Object build(long[] hs, int bits) {
+        long flip = bits == Long.SIZE ? Long.MIN_VALUE : 0L;
+        for (int i = 0; i < hs.length; i++) {
+            hs[i] ^= flip;
+        }
+        Arrays.sort(hs);
+        Object keys = newKeys(hs.length, bits);
+        int n = 0;
+        for (int i = 0; i < hs.length; i++) {
+            if (n == 0 || hs[i] != hs[i - 1]) {
+                set(keys, n++, hs[i] ^ flip);
+            }
+        }
+        return build(keys, null, 0, n, 0, bits);
+    }
+
+    protected static Object keySet(Object v) {
+        if (v instanceof Node) {
+            Node n = (Node) v;
+            Object[] cs = new Object[n.children.length];
+            for (int i = 0; i < cs.length; i++) {
+                cs[i] = keySet(n.children[i]);
+            }
+            return new Node(n.mask, cs, n.size);
+        } else {
+            return v == null ? null : keys(v);
+        }
+    }
+
+    protected static Object join(Object[] vs, int l, int bits, Join join) {
+        return join(vs, l, 0, bits, join);
+    }
+
+    private static Object join(Object[] vs, int l, int level, int bits, Join join) {
+        Object r = join.node(vs, l);
+        if (r != NONE) {
+            return r;
+        }
+        long mask = 0L;
+        boolean nodes = false;
+        for (int j = 0; j < l; j++) {
+            nodes |= vs[j] instanceof Node;
+            mask |= mask(vs[j], level, bits);
+        }
+        if (!nodes) {
+            return joinLeaves(vs, l, level, bits, join);
+        }
+        Object[] cs = new Object[Long.bitCount(mask)];
+        Object[] sub = new Object[l];
+        long rmask = 0L;
+        int n = 0, size = 0;
+        for (long m = mask; m != 0L; m &= m - 1) {
+            int p = Long.numberOfTrailingZeros(m);
+            for (int j = 0; j < l; j++) {
+                sub[j] = child(vs[j], p, level, bits);
+            }
+            Object c = join(sub, l, level + 1, bits, join);
+            if (c != null) {
+                cs[n++] = c;
+                rmask |= 1L << p;
+                size += size(c);
+            }
+        }
+        if (n == 0) {
+            return null;
+        }
+        cs = n < cs.length ? Arrays.copyOf(cs, n) : cs;
+        for (int j = 0; j < l; j++) {
+            if (vs[j] instanceof Node && ((Node) vs[j]).mask == rmask && same(((Node) vs[j]).children, cs)) {
+                return vs[j];
+            }
+        }
+        return size > LEAF_SIZE ? new Node(rmask, cs, size) : flatten(cs, size, bits);
+    }
+
+    private static boolean same(Object[] a, Object[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mask(Object v, int level, int bits) {
+        if (v == null) {
+            return 0L;
+        } else if (v instanceof Node) {
+            return ((Node) v).mask;
+        }
+        Object keys = keys(v);
+        long mask = 0L;
+        for (int i = 0, l = length(keys); i < l; i++) {
+            mask |= 1L << part(key(keys, i), bits, level);
+        }
+        return mask;
+    }
+
+    private static Object child(Object v, int p, int level, int bits) {
+        if (v == null) {
+            return null;
+        } else if (v instanceof Node) {
+            Node n = (Node) v;
+            long bit = 1L << p;
+            return (n.mask & bit) == 0 ? null : n.children[Long.bitCount(n.mask & (bit - 1))];
+        }
+        Object keys = keys(v);
+        Object[] values = values(v);
+        int l = length(keys), from = 0;
+        while (from < l && part(key(keys, from), bits, level) < p) {
+            from++;
+        }
+        int to = from;
+        while (to < l && part(key(keys, to), bits, level) == p) {
+            to++;
+        }
+        return from == to ? null : from == 0 && to == l ? v : leaf(copy(keys, from, to), values == null ? null : Arrays.copyOfRange(values, from, to));
+    }
+
+    private static Object joinLeaves(Object[] vs, int l, int level, int bits, Join join) {
+        Object[] keys = new Object[l];
+        Object[][] values = new Object[l][];
+        int[] pos = new int[l];
+        int[] lengths = new int[l];
+        boolean[] same = new boolean[l];
+        int total = 0;
+        for (int j = 0; j < l; j++) {
+            if (vs[j] != null) {
+                keys[j] = keys(vs[j]);
+                values[j] = values(vs[j]);
+                lengths[j] = length(keys[j]);
+                same[j] = true;
+                total += lengths[j];
+            }
+        }
+        Object rkeys = newKeys(total, bits);
+        Object[] rvalues = null;
+        Object[] es = new Object[l];
+        int len = 0;
+        while (true) {
+            long min = 0L;
+            boolean any = false;
+            for (int j = 0; j < l; j++) {
+                if (pos[j] < lengths[j]) {
+                    long h = key(keys[j], pos[j]);
+                    if (!any || Long.compareUnsigned(h, min) < 0) {
+                        min = h;
+                        any = true;
+                    }
+                }
+            }
+            if (!any) {
+                break;
+            }
+            for (int j = 0; j < l; j++) {
+                if (pos[j] < lengths[j] && key(keys[j], pos[j]) == min) {
+                    es[j] = values[j] == null ? PRESENT : values[j][pos[j]];
+                    pos[j]++;
+                } else {
+                    es[j] = null;
+                }
+            }
+            Object r = join.entry(es, l);
+            for (int j = 0; j < l; j++) {
+                same[j] &= es[j] == r;
+            }
+            if (r != null) {
+                set(rkeys, len, min);
+                if (r != PRESENT) {
+                    if (rvalues == null) {
+                        rvalues = new Object[total];
+                    }
+                    rvalues[len] = r;
+                }
+                len++;
+            }
+        }
+        for (int j = 0; j < l; j++) {
+            if (same[j]) {
+                return vs[j];
+            }
+        }
+        return build(rkeys, rvalues, 0, len, level, bits);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Object mergeValues(Object[] es, int l) {
+        Object[] vs = null;
+        for (int i = 1; i < l; i++) {
+            if (es[i] != null) {
+                vs = ArrayUtil.set(vs, i - 1, es[i], l - 1);
+            }
+        }
+        Object result = Mergeables.merge(es[0], vs, l - 1);
+        for (int i = 0; i < l; i++) {
+            if (es[i] != null && es[i].equals(result)) {
+                return es[i];
+            }
+        }
+        return result;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        if (a == b) {
+            return true;
+        } else if (a == null || b == null) {
+            return false;
+        } else if (a instanceof Node) {
+            if (!(b instanceof Node) || ((Node) a).mask != ((Node) b).mask || ((Node) a).size != ((Node) b).size) {
+                return false;
+            }
+            Object[] ac = ((Node) a).children, bc = ((Node) b).children;
+            for (int i = 0; i < ac.length; i++) {
+                if (!equal(ac[i], bc[i])) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (b instanceof Node || a.getClass() != b.getClass()) {
+            return false;
+        } else if (a instanceof MapLeaf) {
+            return equal(((MapLeaf) a).keys, ((MapLeaf) b).keys) && Arrays.equals(((MapLeaf) a).values, ((MapLeaf) b).values);
+        } else {
+            return a instanceof int[] ? Arrays.equals((int[]) a, (int[]) b) : Arrays.equals((long[]) a, (long[]) b);
+        }
+    }
+
+    protected static final class Cursor {
+        private final Node[] path  = new Node[MAX_DEPTH];
+        private final int[]  index = new int[MAX_DEPTH];
+        private int          depth;
+        private Object       keys;
+        private Object[]     values;
+        private int          pos;
+        private int          length;
+        private Object       value;
+
+        protected Cursor(Object root) {
+            if (root != null) {
+                first(root);
+            }
+        }
+
+        private void first(Object v) {
+            while (v instanceof Node) {
+                Node n = (Node) v;
+                path[depth] = n;
+                index[depth++] = 0;
+                v = n.children[0];
+            }
+            keys = keys(v);
+            values = values(v);
+            length = length(keys);
+            pos = 0;
+        }
+
+        public boolean hasNext() {
+            return pos < length;
+        }
+
+        public long nextHash() {
+            if (pos >= length) {
+                throw new NoSuchElementException();
+            }
+            long h = key(keys, pos);
+            value = values == null ? PRESENT : values[pos];
+            if (++pos == length) {
+                while (depth > 0) {
+                    Node n = path[depth - 1];
+                    if (++index[depth - 1] < n.children.length) {
+                        first(n.children[index[depth - 1]]);
+                        break;
+                    }
+                    depth--;
+                }
+            }
+            return h;
+        }
+
+        // the next key unmixed, ints are widened to long
+        public long nextKey() {
+            long h = nextHash();
+            return keys instanceof int[] ? unmixInt(h) : unmixLong(h);
+        }
+
+        public Object value() {
+            return value;
+        }
+    }
+
+    // Integer.SIZE or Long.SIZE, the width of the keys
+    protected abstract int bits();
+
+    // maps serialize a value after every key
+    protected boolean hasValues() {
+        return false;
+    }
+
+    protected long mixed(long e) {
+        return bits() == Integer.SIZE ? mix((int) e) : mix(e);
+    }
+
+    protected Object lookup(long e) {
+        return get(value, mixed(e), bits());
+    }
+
+    protected Object with(long e, Object val) {
+        return put(value, mixed(e), val, bits());
+    }
+
+    protected Object without(long e) {
+        return remove(value, mixed(e), bits());
+    }
+
+    protected Object joinWith(Object other, Join join) {
+        return join(new Object[]{value, ((PrimitiveHashImpl) other).value}, 2, bits(), join);
+    }
+
+    protected boolean includes(Object other) {
+        Object ov = ((PrimitiveHashImpl) other).value;
+        return size(join(new Object[]{ov, value}, 2, bits(), INTERSECTION)) == size(ov);
+    }
+
+    protected Object mergeWith(Object[] branches, int length) {
+        Object[] vs = new Object[length + 1];
+        vs[0] = value;
+        for (int i = 0; i < length; i++) {
+            vs[i + 1] = ((PrimitiveHashImpl) branches[i]).value;
+        }
+        return join(vs, length + 1, bits(), MERGE);
+    }
+
+    // an int[] or long[] of the keys in trie order
+    protected Object keyArray() {
+        Object a = newKeys(size(), bits());
+        int i = 0;
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            set(a, i++, c.nextKey());
+        }
+        return a;
+    }
+
+    protected <V> Collection<V> valueCollection() {
+        Cursor cursor = new Cursor(value);
+        return Collection.of(Spliterators.spliterator(new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public V next() {
+                cursor.nextHash();
+                return (V) cursor.value();
+            }
+        }, size(), Spliterator.IMMUTABLE | Spliterator.NONNULL));
+    }
+
+    public int size() {
+        return size(value);
+    }
+
+    public boolean isEmpty() {
+        return value == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && value != null) {
+            for (Cursor c = new Cursor(value); c.hasNext();) {
+                long k = c.nextHash();
+                h += (int) (k ^ (k >>> 32)) ^ (c.value == PRESENT ? 0 : c.value.hashCode());
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+        PrimitiveHashImpl other = (PrimitiveHashImpl) obj;
+        if (size() != other.size() || (hash != 0 && other.hash != 0 && hash != other.hash)) {
+            return false;
+        }
+        return equal(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        String type = getClass().getSimpleName();
+        b.append(type, 0, type.length() - 4).append('[');
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            b.append(c.nextKey());
+            if (c.value != PRESENT) {
+                b.append('=').append(StringUtil.toString(c.value));
+            }
+            if (c.hasNext()) {
+                b.append(',');
+            }
+        }
+        return b.append(']').toString();
+    }
+
+    private void writeObject(ObjectOutputStream s) throws IOException {
+        Serializer.wrap(s, this::javaSerialize);
+    }
+
+    private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+        Deserializer.wrap(s, this::javaDeserialize);
+    }
+
+    // long keys are written as two ints
+    public void javaSerialize(Serializer s) {
+        s.writeInt(size());
+        for (Cursor c = new Cursor(value); c.hasNext();) {
+            long e = c.nextKey();
+            if (bits() == Long.SIZE) {
+                s.writeInt((int) (e >>> 32));
+            }
+            s.writeInt((int) e);
+            if (hasValues()) {
+                s.writeObject(c.value());
+            }
+        }
+    }
+
+    public void javaDeserialize(Deserializer s) {
+        long[] hs = new long[s.readInt()];
+        Object v = null;
+        for (int i = 0; i < hs.length; i++) {
+            long e = s.readInt();
+            if (bits() == Long.SIZE) {
+                e = e << 32 | Integer.toUnsignedLong(s.readInt());
+            }
+            hs[i] = mixed(e);
+            if (hasValues()) {
+                v = put(v, hs[i], s.readObject(), bits());
+            }
+        }
+        value = hasValues() ? v : build(hs, bits());
+    }
+
+}
@@ -0,0 +1,530 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import org.modelingvalue.collections.util.Deserializer;
+import org.modelingvalue.collections.util.Serializer;
+
+public abstract class PrimitiveListImpl<L> implements Serializable {
+
+    private static final long serialVersionUID = 5170851393208232587L;
+    private static final int  CHUNK_LENGTH     = Integer.getInteger("PRIMITIVE_LIST_CHUNK_LENGTH", 64);
+
+    // the leaves are int[], long[] or double[] chunks of up to CHUNK_LENGTH elements
+    private static final RopeImpl ROPE = new RopeImpl() {
+                                             @Override
+                                             protected int leafSize(Object leaf) {
+                                                 return length(leaf);
+                                             }
+
+                                             @Override
+                                             protected Object leafSlice(Object leaf, int beginIndex, int endIndex) {
+                                                 return copy(leaf, beginIndex, endIndex);
+                                             }
+
+                                             @Override
+                                             protected Object leafMerge(Object first, Object last) {
+                                                 int length1 = length(first), length2 = length(last);
+                                                 if (length1 + length2 > CHUNK_LENGTH) {
+                                                     return null;
+                                                 }
+                                                 Object chunk = newChunk(first, length1 + length2);
+                                                 System.arraycopy(first, 0, chunk, 0, length1);
+                                                 System.arraycopy(last, 0, chunk, length1, length2);
+                                                 return chunk;
+                                             }
+
+                                             @Override
+                                             protected Node node(Object[] values) {
+                                                 return new ChunkNode(values);
+                                             }
+                                         };
+
+    // the lists compare and hash chunk by chunk, so nodes keep no hash
+    private static final class ChunkNode extends RopeImpl.Node {
+
+        private static final long serialVersionUID = -6125490731592045390L;
+
+        private ChunkNode(Object[] values) {
+            super(values, ROPE.sizes(values), 0, depth(values));
+        }
+
+        private static byte depth(Object[] values) {
+            byte depth = 0;
+            for (Object v : values) {
+                depth = TreeCollectionImpl.max(depth, depth(v));
+            }
+            return (byte) (depth + 1);
+        }
+
+        @Override
+        protected boolean equalsWithStop(Object obj, boolean[] stop) {
+            return this == obj;
+        }
+    }
+
+    transient protected Object value;
+    private transient int      hash;
+
+    protected PrimitiveListImpl(Object value) {
+        this.value = value;
+    }
+
+    protected static int size(Object v) {
+        return ROPE.size(v);
+    }
+
+    private static int length(Object chunk) {
+        return chunk instanceof int[] ? ((int[]) chunk).length : chunk instanceof long[] ? ((long[]) chunk).length : ((double[]) chunk).length;
+    }
+
+    private static Object newChunk(Object like, int length) {
+        return like instanceof int[] ? new int[length] : like instanceof long[] ? (Object) new long[length] : new double[length];
+    }
+
+    private static Object copy(Object chunk, int from, int to) {
+        Object result = newChunk(chunk, to - from);
+        System.arraycopy(chunk, from, result, 0, to - from);
+        return result;
+    }
+
+    protected static int getInt(Object v, int idx) {
+        while (v instanceof ChunkNode) {
+            ChunkNode n = (ChunkNode) v;
+            int i = n.child(idx);
+            idx -= n.offset(i);
+            v = n.values[i];
+        }
+        return ((int[]) v)[idx];
+    }
+
+    protected static long getLong(Object v, int idx) {
+        while (v instanceof ChunkNode) {
+            ChunkNode n = (ChunkNode) v;
+            int i = n.child(idx);
+            idx -= n.offset(i);
+            v = n.values[i];
+        }
+        return ((long[]) v)[idx];
+    }
+
+    protected static double getDouble(Object v, int idx) {
+        while (v instanceof ChunkNode) {
+            ChunkNode n = (ChunkNode) v;
+            int i = n.child(idx);
+            idx -= n.offset(i);
+            v = n.values[i];
+        }
+        return ((double[]) v)[idx];
+    }
+
+    // builds a balanced rope of evenly filled chunks from a primitive array
+    protected static Object chunked(Object array) {
+        int n = length(array);
+        if (n == 0) {
+            return null;
+        }
+        int k = (n + CHUNK_LENGTH - 1) / CHUNK_LENGTH;
+        Object[] chunks = new Object[k];
+        for (int i = 0; i < k; i++) {
+            chunks[i] = copy(array, (int) ((long) n * i / k), (int) ((long) n * (i + 1) / k));
+        }
+        return ROPE.build(chunks, 0, k);
+    }
+
+    protected static Object sublist(Object v, int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > size(v)) {
+            throw new IndexOutOfBoundsException();
+        } else if (endIndex < beginIndex) {
+            throw new IllegalArgumentException();
+        }
+        return ROPE.balance(ROPE.slice(v, beginIndex, endIndex));
+    }
+
+    protected static Object insertList(Object v, int index, Object inserted) {
+        if (index < 0 || index > size(v)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return ROPE.balance(ROPE.concat(ROPE.concat(ROPE.slice(v, 0, index), inserted), ROPE.slice(v, index, size(v))));
+    }
+
+    protected static Object removeList(Object v, int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > size(v)) {
+            throw new IndexOutOfBoundsException();
+        } else if (endIndex < beginIndex) {
+            throw new IllegalArgumentException();
+        }
+        return ROPE.balance(ROPE.concat(ROPE.slice(v, 0, beginIndex), ROPE.slice(v, endIndex, size(v))));
+    }
+
+    // inserts the single element held by a one element chunk, the last chunk of the rope acts as the buffer for appends
+    protected static Object insert(Object v, int index, Object single) {
+        if (index < 0 || index > size(v)) {
+            throw new IndexOutOfBoundsException();
+        } else if (v == null) {
+            return single;
+        } else if (v instanceof ChunkNode) {
+            ChunkNode n = (ChunkNode) v;
+            int i = index == n.size ? n.values.length - 1 : n.child(index);
+            return ROPE.graft(n.values, i, insert(n.values[i], index - n.offset(i), single), n.depth);
+        }
+        int length = length(v);
+        if (length >= CHUNK_LENGTH && (index == 0 || index == length)) {
+            return new ChunkNode(index == 0 ? new Object[]{single, v} : new Object[]{v, single});
+        }
+        Object chunk = newChunk(v, length + 1);
+        System.arraycopy(v, 0, chunk, 0, index);
+        System.arraycopy(single, 0, chunk, index, 1);
+        System.arraycopy(v, index, chunk, index + 1, length - index);
+        if (length < CHUNK_LENGTH) {
+            return chunk;
+        }
+        int half = (length + 1) / 2;
+        return new ChunkNode(new Object[]{copy(chunk, 0, half), copy(chunk, half, length + 1)});
+    }
+
+    protected static Object removeIndex(Object v, int index) {
+        if (index < 0 || index >= size(v)) {
+            throw new IndexOutOfBoundsException();
+        } else if (v instanceof ChunkNode) {
+            ChunkNode n = (ChunkNode) v;
+            int i = n.child(index);
+            return ROPE.graft(n.values, i, removeIndex(n.values[i], index - n.offset(i)), n.depth);
+        }
+        int length = length(v);
+        if (length == 1) {
+            return null;
+        }
+        Object chunk = newChunk(v, length - 1);
+        System.arraycopy(v, 0, chunk, 0, index);
+        System.arraycopy(v, index + 1, chunk, index, length - index - 1);
+        return chunk;
+    }
+
+    // gives the same rope when the element is already there
+    protected static Object replace(Object v, int index, Object single) {
+        if (index < 0 || index >= size(v)) {
+            throw new IndexOutOfBoundsException();
+        } else if (v instanceof ChunkNode) {
+            ChunkNode n = (ChunkNode) v;
+            int i = n.child(index);
+            Object replaced = replace(n.values[i], index - n.offset(i), single);
+            if (replaced == n.values[i]) {
+                return v;
+            }
+            Object[] values = n.values.clone();
+            values[i] = replaced;
+            return new ChunkNode(values);
+        } else if (equal(v, index, single)) {
+            return v;
+        }
+        Object chunk = copy(v, 0, length(v));
+        System.arraycopy(single, 0, chunk, index, 1);
+        return chunk;
+    }
+
+    protected static void forEachChunk(Object v, Consumer<Object> action) {
+        if (v instanceof ChunkNode) {
+            for (Object c : ((ChunkNode) v).values) {
+                forEachChunk(c, action);
+            }
+        } else if (v != null) {
+            action.accept(v);
+        }
+    }
+
+    protected static Object[] chunks(Object v) {
+        Object[] result = new Object[count(v)];
+        int[] i = new int[1];
+        forEachChunk(v, c -> result[i[0]++] = c);
+        return result;
+    }
+
+    private static int count(Object v) {
+        if (v instanceof ChunkNode) {
+            int count = 0;
+            for (Object c : ((ChunkNode) v).values) {
+                count += count(c);
+            }
+            return count;
+        } else {
+            return v == null ? 0 : 1;
+        }
+    }
+
+    // element i of the chunk equals the element of the single element chunk, doubles compare like Double.equals
+    private static boolean equal(Object chunk, int i, Object single) {
+        if (chunk instanceof int[]) {
+            return ((int[]) chunk)[i] == ((int[]) single)[0];
+        } else if (chunk instanceof long[]) {
+            return ((long[]) chunk)[i] == ((long[]) single)[0];
+        } else {
+            return Double.doubleToLongBits(((double[]) chunk)[i]) == Double.doubleToLongBits(((double[]) single)[0]);
+        }
+    }
+
+    // walks the elements chunk by chunk, the typed iterators read element advance() of chunk()
+    protected static class ChunkIterator {
+        private final Object[] chunks;
+        private Object         chunk;
+        private int            next;
+        private int            index;
+
+        protected ChunkIterator(Object v) {
+            chunks = chunks(v);
+        }
+
+        public boolean hasNext() {
+            return next < chunks.length;
+        }
+
+        protected int advance() {
+            if (next >= chunks.length) {
+                throw new NoSuchElementException();
+            }
+            chunk = chunks[next];
+            int i = index++;
+            if (index == length(chunk)) {
+                next++;
+                index = 0;
+            }
+            return i;
+        }
+
+        protected Object chunk() {
+            return chunk;
+        }
+    }
+
+    protected abstract L create(Object val);
+
+    // a primitive array of the element type, of the given length
+    protected abstract Object newArray(int length);
+
+    protected Object array() {
+        Object array = newArray(size());
+        int[] at = new int[1];
+        forEachChunk(value, c -> {
+            System.arraycopy(c, 0, array, at[0], length(c));
+            at[0] += length(c);
+        });
+        return array;
+    }
+
+    protected L insertSingle(int position, Object single) {
+        return create(insert(value, position, single));
+    }
+
+    protected L replaceSingle(int position, Object single) {
+        return create(replace(value, position, single));
+    }
+
+    protected int firstIndexOf(Object single) {
+        int at = 0;
+        for (Object chunk : chunks(value)) {
+            for (int i = 0, l = length(chunk); i < l; i++) {
+                if (equal(chunk, i, single)) {
+                    return at + i;
+                }
+            }
+            at += length(chunk);
+        }
+        return -1;
+    }
+
+    protected int lastIndexOf(Object single) {
+        Object[] chunks = chunks(value);
+        int at = size();
+        for (int c = chunks.length - 1; c >= 0; c--) {
+            at -= length(chunks[c]);
+            for (int i = length(chunks[c]) - 1; i >= 0; i--) {
+                if (equal(chunks[c], i, single)) {
+                    return at + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public L appendList(L list) {
+        return insertList(size(), list);
+    }
+
+    public L prependList(L list) {
+        return insertList(0, list);
+    }
+
+    @SuppressWarnings("unchecked")
+    public L insertList(int position, L list) {
+        Object inserted = ((PrimitiveListImpl<?>) list).value;
+        return inserted == null ? (L) this : create(insertList(value, position, inserted));
+    }
+
+    public L sublist(int beginIndex, int endIndex) {
+        return create(sublist(value, beginIndex, endIndex));
+    }
+
+    public L removeFirst() {
+        return removeIndex(0);
+    }
+
+    public L removeLast() {
+        return removeIndex(size() - 1);
+    }
+
+    public L removeIndex(int position) {
+        return create(removeIndex(value, position));
+    }
+
+    @SuppressWarnings("unchecked")
+    public L removeList(int beginIndex, int endIndex) {
+        return beginIndex == endIndex ? (L) this : create(removeList(value, beginIndex, endIndex));
+    }
+
+    public L clear() {
+        return create(null);
+    }
+
+    public int size() {
+        return size(value);
+    }
+
+    public boolean isEmpty() {
+        return value == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && value != null) {
+            h = 1;
+            for (Object c : chunks(value)) {
+                for (int i = 0, l = length(c); i < l; i++) {
+                    h = 31 * h + (c instanceof int[] ? Integer.hashCode(((int[]) c)[i]) : c instanceof long[] ? Long.hashCode(((long[]) c)[i]) : Double.hashCode(((double[]) c)[i]));
+                }
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (obj == null || !getClass().equals(obj.getClass())) {
+            return false;
+        }
+        PrimitiveListImpl other = (PrimitiveListImpl) obj;
+        if (value == other.value) {
+            return true;
+        } else if (size() != other.size() || (hash != 0 && other.hash != 0 && hash != other.hash)) {
+            return false;
+        }
+        Object[] chunks1 = chunks(value), chunks2 = chunks(other.value);
+        int i1 = 0, i2 = 0, p1 = 0, p2 = 0;
+        while (i1 < chunks1.length) {
+            Object c1 = chunks1[i1], c2 = chunks2[i2];
+            int l1 = length(c1), l2 = length(c2);
+            int n = Math.min(l1 - p1, l2 - p2);
+            if (c1 != c2 || p1 != p2) {
+                if (!(c1 instanceof int[] ? Arrays.equals((int[]) c1, p1, p1 + n, (int[]) c2, p2, p2 + n) : //
+                        c1 instanceof long[] ? Arrays.equals((long[]) c1, p1, p1 + n, (long[]) c2, p2, p2 + n) : //
+                                Arrays.equals((double[]) c1, p1, p1 + n, (double[]) c2, p2, p2 + n))) {
+                    return false;
+                }
+            }
+            p1 += n;
+            p2 += n;
+            if (p1 == l1) {
+                i1++;
+                p1 = 0;
+            }
+            if (p2 == l2) {
+                i2++;
+                p2 = 0;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder b = new StringBuilder();
+        String type = getClass().getSimpleName();
+        b.append(type, 0, type.length() - 4).append('[');
+        forEachChunk(value, c -> {
+            for (int i = 0, l = length(c); i < l; i++) {
+                if (b.charAt(b.length() - 1) != '[') {
+                    b.append(',');
+                }
+                b.append(c instanceof int[] ? Integer.toString(((int[]) c)[i]) : c instanceof long[] ? Long.toString(((long[]) c)[i]) : Double.toString(((double[]) c)[i]));
+            }
+        });
+        return b.append(']').toString();
+    }
+
+    private void writeObject(ObjectOutputStream s) throws IOException {
+        Serializer.wrap(s, this::javaSerialize);
+    }
+
+    private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+        Deserializer.wrap(s, this::javaDeserialize);
+    }
+
+    // longs and doubles are written as two ints, doubles by their raw bits
+    public void javaSerialize(Serializer s) {
+        s.writeInt(size());
+        forEachChunk(value, c -> {
+            for (int i = 0, l = length(c); i < l; i++) {
+                if (c instanceof int[]) {
+                    s.writeInt(((int[]) c)[i]);
+                } else {
+                    long bits = c instanceof long[] ? ((long[]) c)[i] : Double.doubleToRawLongBits(((double[]) c)[i]);
+                    s.writeInt((int) (bits >>> 32));
+                    s.writeInt((int) bits);
+                }
+            }
+        });
+    }
+
+    public void javaDeserialize(Deserializer s) {
+        Object elements = newArray(s.readInt());
+        for (int i = 0, l = length(elements); i < l; i++) {
+            if (elements instanceof int[]) {
+                ((int[]) elements)[i] = s.readInt();
+            } else {
+                long high = s.readInt();
+                long bits = high << 32 | Integer.toUnsignedLong(s.readInt());
+                if (elements instanceof long[]) {
+                    ((long[]) elements)[i] = bits;
+                } else {
+                    ((double[]) elements)[i] = Double.longBitsToDouble(bits);
+                }
+            }
+        }
+        value = chunked(elements);
+    }
+
+}
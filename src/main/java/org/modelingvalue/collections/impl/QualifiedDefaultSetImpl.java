@@ -41,13 +41,13 @@ public class QualifiedDefaultSetImpl<K, V> extends HashCollectionImpl<V> impleme
     public QualifiedDefaultSetImpl(SerializableFunction<V, K> qualifier, SerializableFunction<K, V> defaultFunction, V[] es) {
         this.qualifier = qualifier.of();
         this.defaultFunction = defaultFunction.of();
-        this.value = es.length == 1 ? es[0] : addAll(null, key(), es);
+        this.value = build(key(), es, false);
     }
 
     public QualifiedDefaultSetImpl(SerializableFunction<V, K> qualifier, SerializableFunction<K, V> defaultFunction, java.util.Collection<? extends V> coll) {
         this.qualifier = qualifier.of();
         this.defaultFunction = defaultFunction.of();
-        this.value = coll.size() == 1 ? coll.iterator().next() : addAll(null, key(), coll);
+        this.value = build(key(), coll, false);
     }
 
     public QualifiedDefaultSetImpl(SerializableFunction<V, K> qualifier, SerializableFunction<K, V> defaultFunction, Object value) {
@@ -239,16 +239,17 @@ public class QualifiedDefaultSetImpl<K, V> extends HashCollectionImpl<V> impleme
         return defaultFunction;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public QualifiedDefaultSet<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate) {
-        return filter(v -> keyPredicate.test(qualifier.apply(v)) && valuePredicate.test(v)).toQualifiedDefaultSet(qualifier, defaultFunction);
+        return create(replaceAll(value, v -> keyPredicate.test(qualifier.apply((V) v)) && valuePredicate.test((V) v) ? v : null, isParallel()));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public boolean containsAll(Collection<?> c) {
         if (c instanceof QualifiedDefaultSetImpl) {
-            return c.size() == size(retain(value, key(), ((QualifiedDefaultSetImpl) c).value, key()));
+            return containsAll(value, key(), ((QualifiedDefaultSetImpl) c).value, key());
         } else {
             return containsAll(c.toQualifiedSet(qualifier));
         }
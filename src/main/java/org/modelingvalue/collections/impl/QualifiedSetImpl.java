@@ -39,12 +39,12 @@ public class QualifiedSetImpl<K, V> extends HashCollectionImpl<V> implements Qua
 
     public QualifiedSetImpl(SerializableFunction<V, K> qualifier, V[] es) {
         this.qualifier = qualifier.of();
-        this.value = es.length == 1 ? es[0] : addAll(null, key(), es);
+        this.value = build(key(), es, false);
     }
 
     public QualifiedSetImpl(SerializableFunction<V, K> qualifier, java.util.Collection<? extends V> coll) {
         this.qualifier = qualifier.of();
-        this.value = coll.size() == 1 ? coll.iterator().next() : addAll(null, key(), coll);
+        this.value = build(key(), coll, false);
     }
 
     public QualifiedSetImpl(SerializableFunction<V, K> qualifier, Object value) {
@@ -237,16 +237,17 @@ public class QualifiedSetImpl<K, V> extends HashCollectionImpl<V> implements Qua
         return qualifier;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public QualifiedSet<K, V> filter(Predicate<? super K> keyPredicate, Predicate<? super V> valuePredicate) {
-        return filter(v -> keyPredicate.test(qualifier.apply(v)) && valuePredicate.test(v)).toQualifiedSet(qualifier);
+        return create(replaceAll(value, v -> keyPredicate.test(qualifier.apply((V) v)) && valuePredicate.test((V) v) ? v : null, isParallel()));
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public boolean containsAll(Collection<?> c) {
         if (c instanceof QualifiedSetImpl) {
-            return c.size() == size(retain(value, key(), ((QualifiedSetImpl) c).value, key()));
+            return containsAll(value, key(), ((QualifiedSetImpl) c).value, key());
         } else {
             return containsAll(c.toQualifiedSet(qualifier));
         }
@@ -0,0 +1,221 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.impl;
+
+import java.util.Arrays;
+
+// the tree shared by ListImpl and the primitive lists, nodes of up to MULTI_MAX_LENGTH children over leaves that hold
+// the elements, an instance defines what a leaf is and how its nodes are created
+public abstract class RopeImpl {
+
+    protected static final int MULTI_MAX_LENGTH     = Integer.getInteger("LIST_MULTI_MAX_LENGTH", 32);
+    protected static final int UNBALANCE_TOLERATION = Integer.getInteger("LIST_UNBALANCE_TOLERATION", 10);
+
+    protected abstract static class Node extends TreeCollectionImpl.MultiValue {
+
+        private static final long serialVersionUID = 3325216404616424617L;
+
+        // sizes[i] is the number of elements in values[0] up to and including values[i]
+        protected final int[]     sizes;
+
+        protected Node(Object[] values, int[] sizes, int hash, byte depth) {
+            super(values, sizes[sizes.length - 1], hash, depth);
+            this.sizes = sizes;
+        }
+
+        // the index of the child that holds the element at idx
+        protected int child(int idx) {
+            int lo = 0, hi = sizes.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sizes[mid] > idx) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        protected int offset(int i) {
+            return i > 0 ? sizes[i - 1] : 0;
+        }
+    }
+
+    // the number of elements in a leaf
+    protected abstract int leafSize(Object leaf);
+
+    // a leaf of the elements beginIndex up to endIndex of the leaf
+    protected abstract Object leafSlice(Object leaf, int beginIndex, int endIndex);
+
+    // one leaf of the elements of both, or null when they do not fit in one leaf
+    protected abstract Object leafMerge(Object first, Object last);
+
+    protected abstract Node node(Object[] values);
+
+    protected int[] sizes(Object[] values) {
+        int[] sizes = new int[values.length];
+        for (int i = 0, total = 0; i < values.length; i++) {
+            total += size(values[i]);
+            sizes[i] = total;
+        }
+        return sizes;
+    }
+
+    protected int size(Object v) {
+        return v == null ? 0 : v instanceof Node ? ((Node) v).size : leafSize(v);
+    }
+
+    protected static byte depth(Object v) {
+        return TreeCollectionImpl.depth(v);
+    }
+
+    // a tree of even depth over the leaves from up to to
+    protected Object build(Object[] leaves, int from, int to) {
+        int n = to - from;
+        if (n == 1) {
+            return leaves[from];
+        } else if (n <= MULTI_MAX_LENGTH) {
+            return node(Arrays.copyOfRange(leaves, from, to));
+        } else {
+            long cap = MULTI_MAX_LENGTH;
+            while (cap * MULTI_MAX_LENGTH < n) {
+                cap *= MULTI_MAX_LENGTH;
+            }
+            int len = (int) ((n + cap - 1) / cap);
+            Object[] values = new Object[len];
+            for (int i = 0; i < len; i++) {
+                values[i] = build(leaves, from + (int) ((long) n * i / len), from + (int) ((long) n * (i + 1) / len));
+            }
+            return node(values);
+        }
+    }
+
+    // rebuilds a tree that got more than UNBALANCE_TOLERATION levels deeper than its size needs, from even slices of it
+    protected Object balance(Object v) {
+        int size = size(v);
+        if (!(v instanceof Node) || Math.pow(MULTI_MAX_LENGTH, Math.max(depth(v) - UNBALANCE_TOLERATION, 0)) <= size) {
+            return v;
+        }
+        int len = Math.min(MULTI_MAX_LENGTH, size);
+        Object[] balanced = new Object[len];
+        for (int i = 0; i < len; i++) {
+            balanced[i] = balance(slice(v, (int) ((long) size * i / len), (int) ((long) size * (i + 1) / len)));
+        }
+        return node(balanced);
+    }
+
+    // a node of the values, with the children of the nodes among them spliced in when they all fit in one node
+    protected Object join(Object[] values) {
+        int len = 0;
+        for (Object v : values) {
+            len += v instanceof Node ? ((Node) v).values.length : v != null ? 1 : 0;
+        }
+        if (len <= MULTI_MAX_LENGTH) {
+            Object[] flattened = new Object[len];
+            int i = 0;
+            for (Object v : values) {
+                if (v instanceof Node) {
+                    Object[] children = ((Node) v).values;
+                    System.arraycopy(children, 0, flattened, i, children.length);
+                    i += children.length;
+                } else if (v != null) {
+                    flattened[i++] = v;
+                }
+            }
+            values = flattened;
+        }
+        return balance(node(values));
+    }
+
+    // concatenates two trees, grafting the shallower one onto the facing edge of the deeper one at its own depth
+    protected Object concat(Object first, Object last) {
+        if (first == null) {
+            return last;
+        } else if (last == null) {
+            return first;
+        }
+        byte depth1 = depth(first), depth2 = depth(last);
+        if (depth1 > depth2) {
+            Object[] values = ((Node) first).values;
+            return graft(values, values.length - 1, concat(values[values.length - 1], last), depth1);
+        } else if (depth1 < depth2) {
+            Object[] values = ((Node) last).values;
+            return graft(values, 0, concat(first, values[0]), depth2);
+        } else if (!(first instanceof Node)) {
+            Object merged = leafMerge(first, last);
+            if (merged != null) {
+                return merged;
+            }
+        } else if (((Node) first).values.length + ((Node) last).values.length <= MULTI_MAX_LENGTH) {
+            Object[] values1 = ((Node) first).values, values2 = ((Node) last).values;
+            Object[] values = Arrays.copyOf(values1, values1.length + values2.length);
+            System.arraycopy(values2, 0, values, values1.length, values2.length);
+            return node(values);
+        }
+        return node(new Object[]{first, last});
+    }
+
+    // replaces values[i] by joined, leaving it out when null and splicing in its children when it grew to the depth
+    // of the node itself
+    protected Object graft(Object[] values, int i, Object joined, byte depth) {
+        Object[] result;
+        if (joined == null) {
+            if (values.length <= 2) {
+                return values.length == 1 ? null : values[1 - i];
+            }
+            result = new Object[values.length - 1];
+            System.arraycopy(values, 0, result, 0, i);
+            System.arraycopy(values, i + 1, result, i, values.length - i - 1);
+        } else if (depth(joined) < depth) {
+            result = values.clone();
+            result[i] = joined;
+        } else {
+            Object[] inner = ((Node) joined).values;
+            result = new Object[values.length - 1 + inner.length];
+            System.arraycopy(values, 0, result, 0, i);
+            System.arraycopy(inner, 0, result, i, inner.length);
+            System.arraycopy(values, i + 1, result, i + inner.length, values.length - i - 1);
+            if (result.length > MULTI_MAX_LENGTH) {
+                int half = result.length / 2;
+                return node(new Object[]{node(Arrays.copyOf(result, half)), node(Arrays.copyOfRange(result, half, result.length))});
+            }
+        }
+        return node(result);
+    }
+
+    // the elements beginIndex up to endIndex, sharing all subtrees that lie within them
+    protected Object slice(Object v, int beginIndex, int endIndex) {
+        if (beginIndex == endIndex) {
+            return null;
+        } else if (beginIndex == 0 && endIndex == size(v)) {
+            return v;
+        } else if (!(v instanceof Node)) {
+            return leafSlice(v, beginIndex, endIndex);
+        }
+        Node n = (Node) v;
+        int ib = n.child(beginIndex), ie = n.child(endIndex - 1);
+        int ob = n.offset(ib), oe = n.offset(ie);
+        if (ib == ie) {
+            return slice(n.values[ib], beginIndex - ob, endIndex - ob);
+        }
+        Object[] result = new Object[ie - ib + 1];
+        result[0] = slice(n.values[ib], beginIndex - ob, n.sizes[ib] - ob);
+        System.arraycopy(n.values, ib + 1, result, 1, result.length - 2);
+        result[result.length - 1] = slice(n.values[ie], 0, endIndex - oe);
+        return join(result);
+    }
+}
@@ -35,17 +35,77 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
     public static final Set   EMPTY            = new SetImpl((Object) null);
 
     public SetImpl(T[] es) {
-        this.value = es.length == 1 ? es[0] : addAll(null, key(), es);
+        this.value = build(key(), es, false);
     }
 
     public SetImpl(java.util.Collection<? extends T> es) {
-        this.value = addAll(null, key(), es);
+        this.value = build(key(), es, false);
     }
 
     private SetImpl(Object value) {
         this.value = value;
     }
 
+    public static final class BuilderImpl<T> extends BufferedBuilderImpl implements Set.Builder<T> {
+
+        @Override
+        public Set.Builder<T> add(T e) {
+            push(e);
+            return this;
+        }
+
+        @Override
+        public Set.Builder<T> addAll(Iterable<? extends T> es) {
+            pushAll(es);
+            return this;
+        }
+
+        @Override
+        public Set.Builder<T> addAll(Set.Builder<? extends T> other) {
+            pushAll((BufferedBuilderImpl) other);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Set<T> build() {
+            Object value = HashCollectionImpl.build(identity(), buffer, length, false);
+            return value == null ? EMPTY : new SetImpl<>(value);
+        }
+    }
+
+    public static final class ParallelBuilderImpl<T> extends PartitionedBuilderImpl implements Set.Builder<T> {
+
+        public ParallelBuilderImpl() {
+            super(identity());
+        }
+
+        @Override
+        public Set.Builder<T> add(T e) {
+            push(e);
+            return this;
+        }
+
+        @Override
+        public Set.Builder<T> addAll(Iterable<? extends T> es) {
+            pushAll(es);
+            return this;
+        }
+
+        @Override
+        public Set.Builder<T> addAll(Set.Builder<? extends T> other) {
+            pushAll((PartitionedBuilderImpl) other);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Set<T> build() {
+            Object value = build(false);
+            return value == null ? EMPTY : new SetImpl<>(value);
+        }
+    }
+
     @Override
     protected final Function<T, Object> key() {
         return identity();
@@ -127,12 +187,22 @@ public class SetImpl<T> extends HashCollectionImpl<T> implements Set<T> {
     @Override
     public boolean containsAll(Collection<?> c) {
         if (c instanceof SetImpl) {
-            return c.size() == size(retain(value, key(), ((SetImpl) c).value, key()));
+            return containsAll(value, key(), ((SetImpl) c).value, key());
         } else {
             return containsAll(c.toSet());
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean intersects(Collection<?> c) {
+        if (c instanceof SetImpl) {
+            return intersects(value, key(), ((SetImpl) c).value, key());
+        } else {
+            return c.anyMatch(this::contains);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected SetImpl<T> create(Object val) {
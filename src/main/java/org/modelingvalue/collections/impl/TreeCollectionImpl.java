@@ -22,6 +22,7 @@ import org.modelingvalue.collections.util.Age;
 import org.modelingvalue.collections.util.ContextThread;
 import org.modelingvalue.collections.util.Deserializer;
 import org.modelingvalue.collections.util.Internable;
+import org.modelingvalue.collections.util.QuadFunction;
 import org.modelingvalue.collections.util.Serializer;
 import org.modelingvalue.collections.util.StringUtil;
 import org.modelingvalue.collections.util.TriConsumer;
@@ -402,6 +403,25 @@ public abstract class TreeCollectionImpl<T> extends CollectionImpl<T> implements
             index[0] = cursor;
         }
 
+        // an iterator whose next element is the one at position
+        private static <T> CollectionIterator<T> at(Object value, int position) {
+            CollectionIterator<T> it = new CollectionIterator<>(value, 0);
+            while (it.stack[it.level] instanceof MultiValue) {
+                Object[] values = ((MultiValue) it.stack[it.level]).values;
+                int i = 0;
+                for (; i < values.length && position >= size(values[i]); i++) {
+                    position -= size(values[i]);
+                }
+                it.index[it.level] = i;
+                if (i == values.length) {
+                    break;
+                }
+                it.stack[it.level + 1] = values[i];
+                it.index[++it.level]   = 0;
+            }
+            return it;
+        }
+
         @Override
         public boolean hasNext() {
             while (true) {
@@ -615,21 +635,99 @@ next:
     }
 
     @Override
-    public <R> Collection<R> linked(TriFunction<T, T, T, R> function) {
+    public Collection<T> random() {
+        return sample(size());
+    }
+
+    @Override
+    public Collection<T> sample(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
         int size = size();
-        return Collection.of(getIntStream(0, size, new boolean[1], size)).map(i -> function.apply(i > 0 ? get(i - 1) : null, get(i), i < size - 1 ? get(i + 1) : null));
+        return new StreamCollectionImpl<>(new RandomSpliterator<>(this::get, size, Math.min(k, size)), isParallel());
+    }
+
+    @Override
+    public <R> Collection<R> linked(TriFunction<T, T, T, R> function) {
+        return new StreamCollectionImpl<>(new CursorSpliterator<T, R>(value, 0, size(), (p, e, n, i) -> function.apply(p, e, n)), PARALLEL_COLLECTIONS && !SEQUENTIAL_ONLY.get());
     }
 
     @Override
     public void linked(TriConsumer<T, T, T> consumer) {
-        int size = size();
-        Collection.of(getIntStream(0, size, new boolean[1], size)).forEachOrdered(i -> consumer.accept(i > 0 ? get(i - 1) : null, get(i), i < size - 1 ? get(i + 1) : null));
+        Iterator<T> it = iterator();
+        T previous = null;
+        T element = it.hasNext() ? it.next() : null;
+        for (int i = 0, size = size(); i < size; i++) {
+            T next = it.hasNext() ? it.next() : null;
+            consumer.accept(previous, element, next);
+            previous = element;
+            element = next;
+        }
     }
 
     @Override
     public <R> Collection<R> indexed(BiFunction<T, Integer, R> function) {
-        int size = size();
-        return Collection.of(getIntStream(0, size, new boolean[1], size)).map(i -> function.apply(get(i), i));
+        return new StreamCollectionImpl<>(new CursorSpliterator<T, R>(value, 0, size(), (p, e, n, i) -> function.apply(e, i)), PARALLEL_COLLECTIONS && !SEQUENTIAL_ONLY.get());
+    }
+
+    // walks the elements min to max with a single iterator, handing every element over with its neighbours and index
+    private static final class CursorSpliterator<T, R> implements Spliterator<R> {
+        private static final int CURSOR_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+
+        private final Object                            value;
+        private final QuadFunction<T, T, T, Integer, R> function;
+        private       int                               min;
+        private final int                               max;
+
+        private CollectionIterator<T> cursor;
+        private T                     previous, element;
+
+        private CursorSpliterator(Object value, int min, int max, QuadFunction<T, T, T, Integer, R> function) {
+            this.value    = value;
+            this.min      = min;
+            this.max      = max;
+            this.function = function;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super R> action) {
+            if (min < max) {
+                if (cursor == null) {
+                    cursor   = CollectionIterator.at(value, min > 0 ? min - 1 : 0);
+                    previous = min > 0 ? cursor.next() : null;
+                    element  = cursor.next();
+                }
+                T next = min < size(value) - 1 ? cursor.next() : null;
+                action.accept(function.apply(previous, element, next, min++));
+                previous = element;
+                element  = next;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<R> trySplit() {
+            int delta = max - min;
+            if (cursor == null && delta > 1 && split(delta)) {
+                int half = min + delta / 2;
+                Spliterator<R> prefix = new CursorSpliterator<>(value, min, half, function);
+                min = half;
+                return prefix;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return max - min;
+        }
+
+        @Override
+        public int characteristics() {
+            return CURSOR_CHARACTERISTICS;
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -29,6 +29,8 @@ public abstract class StructImpl implements Struct {
     private static final long serialVersionUID = -1849579252791770119L;
 
     private Object[]          data;
+    // the hash of data, computed lazily; 0 means not yet computed
+    private transient int     hash;
 
     protected StructImpl(Object... data) {
         this.data = postCreate(data);
@@ -36,7 +38,11 @@ public abstract class StructImpl implements Struct {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(data);
+        int h = hash;
+        if (h == 0) {
+            hash = h = Arrays.hashCode(data);
+        }
+        return h;
     }
 
     @Override
@@ -51,6 +57,8 @@ public abstract class StructImpl implements Struct {
         StructImpl other = (StructImpl) obj;
         if (other.data == data) {
             return true;
+        } else if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
         } else if (!Arrays.equals(data, other.data)) {
             return false;
         } else if (Age.age(data) > Age.age(other.data)) {
@@ -67,7 +75,10 @@ public abstract class StructImpl implements Struct {
         return data[i];
     }
 
+    // copy on write, equals may have shared data with other structs
     protected Object set(int i, Object val) {
+        data = data.clone();
+        hash = 0;
         return data[i] = val;
     }
 
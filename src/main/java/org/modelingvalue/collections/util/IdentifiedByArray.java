@@ -19,7 +19,9 @@ import java.util.Arrays;
 
 public class IdentifiedByArray implements Internable {
 
-    private Object[] array;
+    private Object[]      array;
+    // the hash of array, computed lazily; 0 means not yet computed
+    private transient int hash;
 
     public IdentifiedByArray(Object[] array) {
         this.array = array;
@@ -27,7 +29,11 @@ public class IdentifiedByArray implements Internable {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(array);
+        int h = hash;
+        if (h == 0) {
+            hash = h = Arrays.hashCode(array);
+        }
+        return h;
     }
 
     @Override
@@ -42,6 +48,8 @@ public class IdentifiedByArray implements Internable {
             IdentifiedByArray other = (IdentifiedByArray) obj;
             if (other.array == array) {
                 return true;
+            } else if (hash != 0 && other.hash != 0 && hash != other.hash) {
+                return false;
             } else if (!Arrays.equals(array, other.array)) {
                 return false;
             } else {
@@ -0,0 +1,158 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.IndexedList;
+import org.modelingvalue.collections.List;
+
+public class IndexedListTest {
+
+    @Test
+    public void indexTest() {
+        Random random = new Random(3);
+        java.util.List<Integer> ref = new ArrayList<>();
+        IndexedList<Integer> list = IndexedList.of();
+        for (int n = 0; n < 5_000; n++) {
+            int e = random.nextInt(1_000);
+            switch (random.nextInt(8)) {
+            case 0:
+                ref.add(0, e);
+                list = list.prepend(e);
+                break;
+            case 1:
+                if (!ref.isEmpty()) {
+                    int i = random.nextInt(ref.size());
+                    ref.remove(i);
+                    list = list.removeIndex(i);
+                }
+                break;
+            case 2:
+                if (!ref.isEmpty()) {
+                    int i = random.nextInt(ref.size());
+                    ref.set(i, e);
+                    list = list.replace(i, (Integer) e);
+                }
+                break;
+            case 3:
+                ref.remove((Integer) e);
+                list = list.remove(e);
+                break;
+            case 4:
+                int i = random.nextInt(ref.size() + 1);
+                ref.addAll(i, java.util.List.of(e, e + 1));
+                list = list.insertList(i, List.of(e, e + 1));
+                break;
+            case 5:
+                if (!ref.contains(e)) {
+                    ref.add(e);
+                }
+                list = list.addUnique(e);
+                break;
+            default:
+                ref.add(e);
+                list = list.append(e);
+            }
+        }
+        assertEquals(Collection.of(ref).toIndexedList(), list);
+        for (int e = 0; e < 1_001; e++) {
+            assertEquals(ref.contains(e), list.contains(e));
+            assertEquals(ref.indexOf(e), list.firstIndexOf(e));
+            assertEquals(java.util.Collections.frequency(ref, e), list.count(e));
+        }
+        int b = ref.size() / 3, e = ref.size() / 2;
+        IndexedList<Integer> small = list.sublist(b, e);
+        IndexedList<Integer> large = list.sublist(1, ref.size() - 1);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(java.util.Collections.frequency(ref.subList(b, e), i), small.count(i));
+            assertEquals(java.util.Collections.frequency(ref.subList(1, ref.size() - 1), i), large.count(i));
+        }
+    }
+
+    @Test
+    public void sharingTest() {
+        List<String> plain = List.of("a", "b", "c");
+        IndexedList<String> indexed = plain.toIndexedList();
+        assertEquals(plain, List.of(indexed.toArray()));
+        assertSame(indexed, indexed.toIndexedList());
+        assertTrue(indexed.contains("b"));
+        assertFalse(indexed.clear().contains("b"));
+        assertSame(indexed, indexed.addUnique("c"));
+        assertSame(indexed, indexed.remove("d"));
+        assertEquals(IndexedList.of("a", "x", "c"), indexed.replace("b", "x"));
+    }
+
+    @Test
+    public void filterTest() {
+        Random random = new Random(5);
+        java.util.List<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ref.add(random.nextInt(100));
+        }
+        IndexedList<Integer> list = Collection.of(ref).toIndexedList();
+        java.util.List<Integer> removed = new ArrayList<>(ref);
+        for (Integer r : java.util.List.of(3, 3, 7, 1_000)) {
+            removed.remove(r);
+        }
+        java.util.List<Integer> retained = new ArrayList<>(ref);
+        retained.retainAll(java.util.List.of(1, 2, 3));
+        java.util.List<Integer> odd = new ArrayList<>(ref);
+        odd.removeIf(e -> e % 2 == 0);
+        assertSame(list, list.removeAll(Collection.of()));
+        assertSame(list, list.removeIf(e -> e < 0));
+        for (Object[] pair : new Object[][]{ //
+                {removed, list.removeAll(Collection.of(3, 3, 7, 1_000))}, //
+                {retained, list.retainAll(Collection.of(1, 2, 3))}, //
+                {odd, list.removeIf(e -> e % 2 == 0)}, //
+                {ref.subList(1, ref.size() - 1), list.removeFirst().removeLast()}, //
+                {java.util.List.of(), list.removeIf(e -> true)}}) {
+            @SuppressWarnings("unchecked")
+            java.util.List<Integer> expected = (java.util.List<Integer>) pair[0];
+            @SuppressWarnings("unchecked")
+            IndexedList<Integer> actual = (IndexedList<Integer>) pair[1];
+            assertEquals(Collection.of(expected).toIndexedList(), actual);
+            for (int e = 0; e < 100; e++) {
+                assertEquals(java.util.Collections.frequency(expected, e), actual.count(e));
+                assertEquals(expected.indexOf(e), actual.firstIndexOf(e));
+            }
+        }
+    }
+
+    @Test
+    public void nullTest() {
+        IndexedList<String> indexed = List.of("a", null, "b").toIndexedList().append("c");
+        assertEquals(IndexedList.of("a", "b", "c"), indexed);
+        assertEquals(IndexedList.of("a", "b"), IndexedList.of("a", null, "b"));
+        for (IndexedList<String> list : List.of(indexed, indexed.sublist(1, 3), indexed.clear())) {
+            assertFalse(list.contains(null));
+            assertEquals(-1, list.firstIndexOf(null));
+            assertEquals(-1, list.lastIndexOf(null));
+            assertEquals(0, list.count(null));
+            assertEquals(0, list.indexesOf(null).size());
+        }
+        assertEquals(1, indexed.count("b"));
+    }
+
+}
@@ -18,9 +18,12 @@ package org.modelingvalue.collections.test;
 import org.junit.jupiter.api.*;
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.Set;
 import org.modelingvalue.collections.*;
+import org.modelingvalue.collections.util.ContextThread;
 
 import java.util.*;
+import java.util.concurrent.RecursiveTask;
 import java.util.stream.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -69,6 +72,245 @@ public class ListTest {
         lista.compareAll(listb, listc).forEachOrdered(a -> System.err.println(Arrays.toString(a)));
     }
 
+    @SuppressWarnings({"serial", "unchecked"})
+    @Test
+    public void parallelCompare() {
+        List<Integer> list1 = Collection.of(IntStream.range(0, 200)).toList();
+        List<Integer> list2 = list1.replace(100, (Integer) (-1)).prependList(List.of(-2, -3, -4));
+        List<Integer> list3 = list1.sublist(0, 150);
+        LongSummaryStatistics expected = list1.compareAll(list2, list3).sequential().mapToLong(Arrays::hashCode).summaryStatistics();
+        LongSummaryStatistics parallel = ContextThread.createPool().invoke(new RecursiveTask<LongSummaryStatistics>() {
+            @Override
+            protected LongSummaryStatistics compute() {
+                return list1.compareAll(list2, list3).mapToLong(Arrays::hashCode).summaryStatistics();
+            }
+        });
+        assertEquals(expected.getCount(), parallel.getCount());
+        assertEquals(expected.getSum(), parallel.getSum());
+    }
+
+    @Test
+    public void linkedIndexed() {
+        List<Integer> list = Collection.of(IntStream.range(0, 100_000)).toList().removeIndex(500).insert(70_000, -1);
+        java.util.List<Integer> ref = new ArrayList<>();
+        list.forEach(ref::add);
+        java.util.List<String> expected = new ArrayList<>();
+        for (int i = 0; i < ref.size(); i++) {
+            expected.add((i > 0 ? ref.get(i - 1) : null) + "," + ref.get(i) + "," + (i < ref.size() - 1 ? ref.get(i + 1) : null));
+        }
+        java.util.List<String> parallel = ContextThread.createPool().invoke(new RecursiveTask<java.util.List<String>>() {
+            @Override
+            protected java.util.List<String> compute() {
+                return list.linked((p, e, n) -> p + "," + e + "," + n).collect(Collectors.toList());
+            }
+        });
+        assertEquals(expected, parallel);
+        assertEquals(expected, list.linked((p, e, n) -> p + "," + e + "," + n).sequential().collect(Collectors.toList()));
+        java.util.List<String> linked = new ArrayList<>();
+        list.linked((p, e, n) -> {
+            linked.add(p + "," + e + "," + n);
+        });
+        assertEquals(expected, linked);
+        assertTrue(list.indexed((e, i) -> ref.get(i).equals(e)).allMatch(b -> b));
+        assertEquals(ref.size(), list.indexed((e, i) -> i).count());
+        assertEquals(0, List.of().linked((p, e, n) -> e).count());
+        assertEquals(List.of("null,a,null"), List.of("a").linked((p, e, n) -> p + "," + e + "," + n).toList());
+    }
+
+    @Test
+    public void positionalCompare() {
+        List<Integer> list1 = Collection.of(IntStream.range(0, 100_000)).toList();
+        List<Integer> list2 = list1.replace(500, (Integer) (-1)).insert(1000, -2).removeIndex(20_000).appendList(List.of(-3, -4));
+        java.util.List<List<Integer>[]> diff = list1.compare(list2).collect(Collectors.toList());
+        assertEquals(4, diff.size());
+        assertEquals(List.of(500), diff.get(0)[0]);
+        assertEquals(List.of(-1), diff.get(0)[1]);
+        assertNull(diff.get(1)[0]);
+        assertEquals(List.of(-2), diff.get(1)[1]);
+        assertEquals(List.of(19_999), diff.get(2)[0]);
+        assertNull(diff.get(2)[1]);
+        assertNull(diff.get(3)[0]);
+        assertEquals(List.of(-3, -4), diff.get(3)[1]);
+
+        assertEquals(0, list1.compare(list1.replace(7, (Integer) 7)).count());
+        java.util.List<List<Integer>[]> duplicates = List.of(1, 2, 1, 1).compare(List.of(1, 1, 2, 1)).collect(Collectors.toList());
+        assertEquals(2, duplicates.size());
+        assertEquals(List.of(2), duplicates.get(0)[0]);
+        assertNull(duplicates.get(0)[1]);
+        assertNull(duplicates.get(1)[0]);
+        assertEquals(List.of(2), duplicates.get(1)[1]);
+        java.util.List<List<Integer>[]> all = List.<Integer> of().compare(List.of(1, 2)).collect(Collectors.toList());
+        assertEquals(1, all.size());
+        assertNull(all.get(0)[0]);
+        assertEquals(List.of(1, 2), all.get(0)[1]);
+    }
+
+    @Test
+    public void scatteredCompare() {
+        List<Integer> list1 = Collection.of(IntStream.range(0, 100_000)).toList();
+        List<Integer> list2 = list1;
+        for (int i = 0; i < 100_000; i += 50) {
+            list2 = list2.replace(i, (Integer) (-i - 1));
+        }
+        list2 = list2.insert(0, -200_000).append(-300_000);
+        java.util.List<List<Integer>[]> diff = list1.compare(list2).collect(Collectors.toList());
+        assertEquals(2001, diff.size());
+        assertEquals(List.of(0), diff.get(0)[0]);
+        assertEquals(List.of(-200_000, -1), diff.get(0)[1]);
+        for (int d = 1; d < 2000; d++) {
+            assertEquals(List.of(d * 50), diff.get(d)[0]);
+            assertEquals(List.of(-d * 50 - 1), diff.get(d)[1]);
+        }
+        assertNull(diff.get(2000)[0]);
+        assertEquals(List.of(-300_000), diff.get(2000)[1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bigMerge() {
+        List<Integer> base = Collection.of(IntStream.range(0, 100_000)).toList();
+        List<Integer> branch1 = base.removeIndex(5).append(-1);
+        List<Integer> branch2 = base.insert(100, -2).removeIndex(90_000);
+        List<Integer> branch3 = base.replace(70_000, (Integer) (-3));
+        List<Integer> merged = base.merge(new List[]{branch1, branch2, branch3}, 3);
+        assertEquals(100_000, merged.size());
+        assertFalse(merged.contains(5) || merged.contains(70_000) || merged.contains(89_999));
+        assertEquals(100, merged.firstIndexOf(-2));
+        assertEquals(70_000, merged.firstIndexOf(-3));
+        assertEquals((Integer) (-1), merged.last());
+        assertEquals(List.of(1, 2, 3, 4), List.of(1, 2, 3).merge(new List[]{List.of(1, 2, 3, 4), List.of(1, 2, 3)}, 2));
+        assertEquals(List.of(1, 1, 3), List.of(1, 1, 2, 3).merge(new List[]{List.of(1, 1, 3), List.of(1, 1, 2, 3)}, 2));
+    }
+
+    @Test
+    public void positionalAccess() {
+        Random random = new Random(42);
+        java.util.List<Integer> ref = new ArrayList<>();
+        List<Integer> list = List.of();
+        for (int n = 0; n < 20_000; n++) {
+            int op = random.nextInt(10);
+            if (op < 6 || ref.size() < 10) {
+                int idx = random.nextInt(ref.size() + 1);
+                ref.add(idx, n);
+                list = list.insert(idx, n);
+            } else if (op < 8) {
+                int idx = random.nextInt(ref.size());
+                ref.remove(idx);
+                list = list.removeIndex(idx);
+            } else {
+                int b = random.nextInt(ref.size()), e = b + random.nextInt(Math.min(100, ref.size() - b));
+                ref.subList(b, e).clear();
+                list = list.removeList(b, e);
+            }
+        }
+        assertEquals(ref.size(), list.size());
+        for (int i = 0; i < ref.size(); i++) {
+            assertEquals(ref.get(i), list.get(i));
+        }
+        for (int n = 0; n < 1_000; n++) {
+            int b = random.nextInt(ref.size()), e = b + random.nextInt(ref.size() - b + 1);
+            List<Integer> sub = list.sublist(b, e);
+            assertEquals(Collection.of(ref.subList(b, e)).toList(), sub);
+            assertEquals(Collection.of(ref.subList(b, e)).toList().hashCode(), sub.hashCode());
+        }
+        assertEquals(Collection.of(ref).toList(), list);
+        assertThrows(IndexOutOfBoundsException.class, () -> List.of(1, 2, 3).get(3));
+    }
+
+    @Test
+    public void appendPrepend() {
+        Random random = new Random(7);
+        java.util.List<Integer> ref = new ArrayList<>();
+        List<Integer> list = List.of();
+        for (int n = 0; n < 50_000; n++) {
+            if (random.nextInt(4) == 0) {
+                ref.add(0, n);
+                list = list.prepend(n);
+            } else {
+                ref.add(n);
+                list = list.append(n);
+            }
+            if (n % 5_000 == 0) {
+                int idx = random.nextInt(ref.size() + 1);
+                ref.add(idx, -n);
+                list = list.insert(idx, -n);
+            }
+        }
+        List<Integer> built = Collection.of(ref).toList();
+        assertEquals(built, list);
+        assertEquals(built.hashCode(), list.hashCode());
+        for (int i = 0; i < ref.size(); i += 7) {
+            assertEquals(ref.get(i), list.get(i));
+        }
+        assertThrows(NullPointerException.class, () -> List.of(1).append(null));
+    }
+
+    @Test
+    public void bulkRemove() {
+        Random random = new Random(11);
+        java.util.List<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ref.add(random.nextInt(500));
+        }
+        List<Integer> list = Collection.of(ref).toList();
+        java.util.List<Integer> args = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            args.add(random.nextInt(600));
+        }
+        List<Integer> removed = list;
+        for (Integer r : args) {
+            removed = removed.remove(r);
+        }
+        assertEquals(removed, list.removeAll(Collection.of(args)));
+        java.util.List<Integer> retained = new ArrayList<>(ref);
+        retained.retainAll(args);
+        assertEquals(Collection.of(retained).toList(), list.retainAll(Collection.of(args)));
+        java.util.List<Integer> odd = new ArrayList<>(ref);
+        odd.removeIf(i -> i % 2 == 0);
+        assertEquals(Collection.of(odd).toList(), list.removeIf(i -> i % 2 == 0));
+        assertSame(list, list.removeAll(Set.of(-1)));
+        assertSame(list, list.removeIf(i -> i < 0));
+        assertTrue(list.retainAll(Set.of(-1)).isEmpty());
+        assertEquals(0, list.toIndexedList().removeIf(i -> i == 7).count(7));
+    }
+
+    @Test
+    public void concatTest() {
+        Random random = new Random(13);
+        java.util.List<Integer> ref = new ArrayList<>();
+        List<Integer> list = List.of();
+        for (int n = 0; n < 2_000; n++) {
+            int size = random.nextInt(4) == 0 ? random.nextInt(3_000) : random.nextInt(40);
+            java.util.List<Integer> part = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                part.add(n * 10_000 + i);
+            }
+            List<Integer> inserted = List.of(part);
+            switch (random.nextInt(3)) {
+            case 0:
+                ref.addAll(part);
+                list = list.appendList(inserted);
+                break;
+            case 1:
+                ref.addAll(0, part);
+                list = list.prependList(inserted);
+                break;
+            default:
+                int idx = random.nextInt(ref.size() + 1);
+                ref.addAll(idx, part);
+                list = list.insertList(idx, inserted);
+            }
+        }
+        assertEquals(ref.size(), list.size());
+        assertEquals(List.of(ref), list);
+        assertEquals(List.of(ref.toArray(new Integer[0])).hashCode(), list.hashCode());
+        for (int i = 0; i < ref.size(); i += 97) {
+            assertEquals(ref.get(i), list.get(i));
+        }
+        assertEquals(List.of(1, 2), List.of(1, null, 2));
+        assertThrows(NullPointerException.class, () -> List.of(IntStream.range(0, 100).mapToObj(i -> i == 50 ? null : i).toArray(Integer[]::new)));
+    }
+
     @Test
     public void reuseTest() {
         List<String[]> ab1 = List.of(new String[]{"a"}, new String[]{"b"});
@@ -88,6 +330,25 @@ public class ListTest {
         }
     }
 
+    @Test
+    public void reuseByKey() {
+        java.util.List<String> keys = IntStream.range(0, 5_000).mapToObj(i -> "n" + i).collect(Collectors.toList());
+        List<String[]> nodes = Collection.of(keys).map(k -> new String[]{k}).toList();
+        Collections.shuffle(keys, new Random(17));
+        keys.set(10, "new");
+        List<String> targets = List.of(keys);
+        long[] constructed = new long[1];
+        List<String[]> reused = targets.reuse(nodes, n -> n[0], k -> k, (n, k) -> n[0] = k, n -> 0L, (n, k) -> false, (id, k) -> {
+            constructed[0]++;
+            return new String[]{k};
+        });
+        assertEquals(1, constructed[0]);
+        assertEquals(targets, reused.map(n -> n[0]).toList());
+        assertSame(nodes.get(4_999), reused.get(keys.indexOf("n4999")));
+        Set<String[]> kept = reused.toSet();
+        assertEquals(4_999, nodes.filter(kept::contains).count());
+    }
+
     @Test
     public void basicListOperations() {
         List<String> list1 = List.of("a", "b");
@@ -144,6 +405,35 @@ public class ListTest {
         }
     }
 
+    @Test
+    public void sample() {
+        List<Integer> list = Collection.of(IntStream.range(0, 10_000)).toList();
+        assertEquals(list, list.random().sorted().toList());
+        assertEquals(list.toSet(), list.toSet().random().toSet());
+        assertEquals(list, Collection.of(IntStream.range(0, 10_000)).random().sorted().toList());
+        assertEquals(list, Collection.of(IntStream.range(0, 10_000)).parallel().random().sorted().toList());
+        assertEquals(9_000, list.sample(9_000).toSet().size());
+        Set<Integer> sample = list.sample(100).toSet();
+        assertEquals(100, sample.size());
+        assertTrue(list.containsAll(sample));
+        assertEquals(100, Collection.of(IntStream.range(0, 10_000)).sample(100).toSet().size());
+        assertEquals(3, List.of(1, 2, 3).sample(10).count());
+        assertEquals(list.isParallel(), list.random().isParallel());
+        assertTrue(list.parallel().random().isParallel());
+        assertFalse(list.sequential().sample(10).isParallel());
+        int[] firsts = new int[10];
+        for (int i = 0; i < 10_000; i++) {
+            firsts[List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).random().findFirst().get()]++;
+            firsts[Collection.of(IntStream.range(0, 10)).sample(1).findFirst().get()]++;
+            firsts[Collection.of(IntStream.range(0, 10)).random().findFirst().get()]++;
+            firsts[Collection.of(IntStream.range(0, 10)).toList().sample(9).findFirst().get()]++;
+            firsts[Collection.of(IntStream.range(0, 160)).toList().sample(1).findFirst().get() % 10]++;
+        }
+        for (int count : firsts) {
+            assertTrue(count > 4_500 && count < 5_500, "not uniform: " + Arrays.toString(firsts));
+        }
+    }
+
     @Test
     public void reverse() {
         List<Integer> list1 = Collection.of(IntStream.range(0, 100000)).toList();
@@ -286,6 +576,26 @@ public class ListTest {
         }
     }
 
+    @Test
+    public void builderTest() {
+        for (int size : new int[]{0, 1, 2, 32, 33, 1024, 1025, LONG}) {
+            List<Integer> incremental = List.of();
+            List.Builder<Integer> builder = List.builder();
+            for (int i = 0; i < size; i++) {
+                incremental = incremental.append(i);
+                builder.append(i);
+            }
+            List<Integer> built = builder.build();
+            assertEquals(size, built.size());
+            assertEquals(incremental.hashCode(), built.hashCode());
+            assertEquals(incremental, built);
+            for (int i = 0; i < size; i++) {
+                assertEquals((Integer) i, built.get(i));
+            }
+        }
+        assertEquals(List.of(1, 2, 3, 4), List.<Integer> builder().append(1).appendAll(List.<Integer> builder().append(2).append(3)).appendAll(List.of(4)).build());
+    }
+
     private static int nextInt(Random random, HashSet<Integer> hashSet) {
         int r = random.nextInt(LONG);
         while (!hashSet.add(r)) {
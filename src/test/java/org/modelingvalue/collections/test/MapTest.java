@@ -17,11 +17,21 @@ package org.modelingvalue.collections.test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
 import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.DefaultMap;
 import org.modelingvalue.collections.Entry;
 import org.modelingvalue.collections.Map;
 import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.util.ContextThread;
 import org.modelingvalue.collections.util.Pair;
+import org.modelingvalue.collections.util.SerializableFunction;
 
 public class MapTest {
 
@@ -169,6 +179,253 @@ public class MapTest {
         assertEquals(result, expect);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void bulkTest() {
+        Entry<Integer, Integer>[] entries = new Entry[100_000];
+        Map<Integer, Integer> incremental = Map.of();
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = Entry.of(i % 30_000, i);
+            incremental = incremental.put(entries[i]);
+        }
+        Map<Integer, Integer> bulk = Map.of(entries);
+        assertEquals(30_000, bulk.size());
+        assertEquals(incremental.hashCode(), bulk.hashCode());
+        assertEquals(incremental, bulk);
+        assertEquals((Integer) 90_000, bulk.get((Integer) 0));
+    }
+
+    @SuppressWarnings("serial")
+    @Test
+    public void parallelTest() {
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                int max = 1_000_000;
+                Map<Integer, Integer> map = Collection.of(IntStream.range(0, max)).toMapParallel(i -> Entry.of(i % 100_000 * 0x9E3779B1, i));
+                Map<Integer, Integer> expected = Collection.of(IntStream.range(0, max)).sequential().toMap(i -> Entry.of(i % 100_000 * 0x9E3779B1, i));
+                assertEquals(100_000, map.size());
+                assertEquals(expected, map);
+                assertTrue(map.allMatch(e -> e.getValue() >= max - 100_000));
+            }
+        });
+    }
+
+    @SuppressWarnings("serial")
+    @Test
+    public void parallelDiffTest() {
+        int max = 1_000_000;
+        Map<Integer, Integer> map1 = Collection.of(IntStream.range(0, max)).toMap(i -> Entry.of(i, i));
+        Map<Integer, Integer> map2 = map1;
+        for (int i = 0; i < max; i += 997) {
+            map2 = i % 3 == 0 ? map2.removeKey(i) : map2.put(i, -i);
+        }
+        map2 = map2.put(max, max).put(max + 1, max + 1);
+        Set<Entry<Integer, Pair<Integer, Integer>>> expected = map1.diff(map2).toSet();
+        Map<Integer, Integer> changed = map2;
+        Set<Entry<Integer, Pair<Integer, Integer>>> parallel = ContextThread.createPool().invoke(new RecursiveTask<Set<Entry<Integer, Pair<Integer, Integer>>>>() {
+            @Override
+            protected Set<Entry<Integer, Pair<Integer, Integer>>> compute() {
+                return map1.diff(changed).toSet();
+            }
+        });
+        assertEquals(max / 997 + 1 + 2, expected.size());
+        assertEquals(expected, parallel);
+        assertTrue(parallel.allMatch(e -> !Objects.equals(e.getValue().a(), e.getValue().b())));
+    }
+
+    @SuppressWarnings("serial")
+    @Test
+    public void concentratedDiffTest() {
+        int max = 1_000_000;
+        Map<Integer, Integer> map1 = Collection.of(IntStream.range(0, max)).toMap(i -> Entry.of(i, i));
+        Map<Integer, Integer> map2 = map1;
+        // all changed keys share the first three parts of their hash
+        for (int i = 0; i < 1 << 17; i += 97) {
+            map2 = map2.put(i, i + 1);
+        }
+        Map<Integer, Integer> changed = map2;
+        Spliterator<?> split = ContextThread.createPool().invoke(new RecursiveTask<Spliterator<?>>() {
+            @Override
+            protected Spliterator<?> compute() {
+                return map1.diff(changed).spliterator().trySplit();
+            }
+        });
+        assertNotNull(split);
+        assertEquals((1 << 17) / 97 + 1, map1.diff(changed).size());
+    }
+
+    @Test
+    public void builderTest() {
+        Map<Object, Integer> incremental = Map.of();
+        Map.Builder<Object, Integer> builder = Map.builder();
+        EqualHashCode[] keys = new EqualHashCode[10];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new EqualHashCode();
+        }
+        for (int i = 0; i < 10_000; i++) {
+            Object key = i % 3 == 0 ? keys[i % keys.length] : (Object) (i % 2_000);
+            incremental = incremental.put(key, i);
+            builder.put(key, i);
+        }
+        Map<Object, Integer> built = builder.build();
+        assertEquals(incremental.size(), built.size());
+        assertEquals(incremental.hashCode(), built.hashCode());
+        assertEquals(incremental, built);
+        assertEquals(Map.of(Entry.of("a", 3), Entry.of("b", 2)), Map.<String, Integer> builder().put("a", 1).put("b", 2).put("a", 3).build());
+    }
+
+    @Test
+    public void entryAccess() {
+        Map<Object, Integer> map = Map.of();
+        EqualHashCode[] keys = new EqualHashCode[20];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new EqualHashCode();
+            map = map.put(keys[i], -i);
+        }
+        for (int i = 0; i < 5_000; i++) {
+            map = map.put(i, i);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals((Integer) (-i), map.get(keys[i]));
+            assertEquals(Entry.of(keys[i], -i), map.getEntry(keys[i]));
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertEquals((Integer) i, map.get((Object) i));
+        }
+        assertNull(map.get(new EqualHashCode()));
+        assertNull(map.get((Object) 5_000));
+        assertNull(Map.of().get("a"));
+        Map<Object, Integer> fmap = map;
+        for (boolean sequential : new boolean[]{false, true}) {
+            java.util.List<Entry<Object, Integer>> visited = new java.util.ArrayList<>();
+            Collection.SEQUENTIAL_ONLY.set(sequential);
+            try {
+                fmap.forEach((k, v) -> {
+                    synchronized (visited) {
+                        visited.add(Entry.of(k, v));
+                    }
+                });
+            } finally {
+                Collection.SEQUENTIAL_ONLY.set(false);
+            }
+            assertEquals(map.size(), visited.size());
+            if (sequential) {
+                assertEquals(map.toList(), Collection.of(visited.stream()).toList());
+            } else {
+                assertEquals(map, Collection.of(visited.stream()).toMap(e -> e));
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    @Test
+    public void mapValuesAndFilter() {
+        Map<Object, Integer> map = Map.of();
+        for (int i = 0; i < 20; i++) {
+            map = map.put(new EqualHashCode(), i);
+        }
+        for (int i = 0; i < 50_000; i++) {
+            map = map.put(i, i);
+        }
+        Map<Object, Integer> fmap = map;
+        assertSame(map, map.mapValues((k, v) -> v));
+        assertSame(map, map.filter(k -> true, v -> true));
+        assertSame(Map.of(), map.filter(k -> true, v -> false));
+        Map<Object, Integer> expected = map.filter(e -> e.getValue() % 3 != 0).toMap(e -> Entry.of(e.getKey(), e.getValue() % 5 == 0 ? e.getValue() : -e.getValue()));
+        Map<Object, Integer> mapped = map.mapValues((k, v) -> v % 3 == 0 ? null : v % 5 == 0 ? v : -v);
+        assertEquals(expected, mapped);
+        assertEquals(expected.hashCode(), mapped.hashCode());
+        assertEquals(expected, map.filter(k -> true, v -> v % 3 != 0).mapValues((k, v) -> v % 5 == 0 ? v : -v));
+        assertEquals(map.filter(e -> e.getKey() instanceof EqualHashCode).toMap(e -> e), map.filter(k -> k instanceof EqualHashCode, v -> true));
+        assertEquals(Map.of(Entry.of(7, "7")), map.filter(k -> k.equals(7), v -> true).mapValues((k, v) -> v.toString()));
+        Map<Object, Integer> parallel = ContextThread.createPool().invoke(new RecursiveTask<Map<Object, Integer>>() {
+            @Override
+            protected Map<Object, Integer> compute() {
+                return fmap.mapValues((k, v) -> v % 3 == 0 ? null : v % 5 == 0 ? v : -v);
+            }
+        });
+        assertEquals(expected, parallel);
+        SerializableFunction<Integer, Integer> zero = k -> 0;
+        DefaultMap<Integer, Integer> dmap = DefaultMap.of(zero, Entry.of(1, 1), Entry.of(2, 2), Entry.of(3, 3));
+        assertEquals(DefaultMap.of(zero, Entry.of(1, 2), Entry.of(3, 6)), dmap.mapValues((k, v) -> k == 2 ? 0 : v * 2));
+        assertEquals(DefaultMap.of(zero, Entry.of(2, 2)), dmap.filter(k -> k % 2 == 0, v -> true));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void equalHashesSorted() {
+        java.util.Map<Object, Integer> expected = new java.util.HashMap<>();
+        Map<Object, Integer> map = Map.of();
+        for (int i = 0; i < 300; i++) {
+            // compareTo is inconsistent with equals, an EqualHashCode among the keys makes a bucket unsortable
+            Object key = i % 50 == 49 ? new EqualHashCode() : new ComparableEqualHashCode(i);
+            map = map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int i = 0; i < 300; i += 3) {
+            map = map.removeKey(new ComparableEqualHashCode(i));
+            expected.remove(new ComparableEqualHashCode(i));
+            map = map.put(new ComparableEqualHashCode(i + 1), -i);
+            expected.put(new ComparableEqualHashCode(i + 1), -i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (java.util.Map.Entry<Object, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertNull(map.get(new ComparableEqualHashCode(0)));
+        assertNull(map.get(new ComparableEqualHashCode(1000)));
+        Map<Object, Integer> other = Map.of(IntStream.range(150, 450).mapToObj(i -> Entry.of(new ComparableEqualHashCode(i), i * 2)).toArray(Entry[]::new));
+        Map<Object, Integer> sum = map.addAll(other, Integer::sum);
+        Map<Object, Integer> base = map;
+        Map<Object, Integer> changed = map.putAll(other.filter(e -> base.get(e.getKey()) != null).toMap(e -> e));
+        Map<Object, Integer> added = map.putAll(other.filter(e -> base.get(e.getKey()) == null).toMap(e -> e));
+        Map<Object, Integer> merged = map.merge(new Map[]{changed, added}, 2);
+        assertEquals(map.putAll(other), merged);
+        for (int i = 0; i < 450; i++) {
+            ComparableEqualHashCode key = new ComparableEqualHashCode(i);
+            Integer a = map.get(key), b = other.get(key);
+            assertEquals(a == null ? b : b == null ? a : (Integer) (a + b), sum.get(key));
+            assertEquals(b != null ? b : a, merged.get(key));
+        }
+        assertEquals(map, Map.of(expected.entrySet().stream().map(e -> Entry.of(e.getKey(), e.getValue())).toArray(Entry[]::new)));
+        Map<Object, Integer> removed = map.removeAllKey(other.toKeys().toSet());
+        expected.keySet().removeIf(k -> other.get(k) != null);
+        assertEquals(expected.size(), removed.size());
+        for (java.util.Map.Entry<Object, Integer> e : expected.entrySet()) {
+            assertEquals(e.getValue(), removed.get(e.getKey()));
+        }
+    }
+
+    private final static class ComparableEqualHashCode implements Comparable<ComparableEqualHashCode> {
+        private final int value;
+
+        private ComparableEqualHashCode(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(ComparableEqualHashCode o) {
+            return Integer.compare(value / 4, o.value / 4);
+        }
+
+        @Override
+        public int hashCode() {
+            // one of the hash codes is the one of EqualHashCode
+            return 1225 + value % 25;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ComparableEqualHashCode && ((ComparableEqualHashCode) obj).value == value;
+        }
+
+        @Override
+        public String toString() {
+            return "CEHC" + value;
+        }
+    }
+
     private final static class EqualHashCode {
 
         @Override
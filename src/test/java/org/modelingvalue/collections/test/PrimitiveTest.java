@@ -0,0 +1,333 @@
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+// (C) Copyright 2018-2023 Modeling Value Group B.V. (http://modelingvalue.org)                                        ~
+//                                                                                                                     ~
+// Licensed under the GNU Lesser General Public License v3.0 (the 'License'). You may not use this file except in      ~
+// compliance with the License. You may obtain a copy of the License at: https://choosealicense.com/licenses/lgpl-3.0  ~
+// Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on ~
+// an 'AS IS' BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the  ~
+// specific language governing permissions and limitations under the License.                                          ~
+//                                                                                                                     ~
+// Maintainers:                                                                                                        ~
+//     Wim Bast, Tom Brus, Ronald Krijgsheld                                                                           ~
+// Contributors:                                                                                                       ~
+//     Arjan Kok, Carel Bast                                                                                           ~
+//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+package org.modelingvalue.collections.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.modelingvalue.collections.Collection;
+import org.modelingvalue.collections.DoubleList;
+import org.modelingvalue.collections.IntList;
+import org.modelingvalue.collections.IntObjMap;
+import org.modelingvalue.collections.IntSet;
+import org.modelingvalue.collections.List;
+import org.modelingvalue.collections.LongList;
+import org.modelingvalue.collections.LongObjMap;
+import org.modelingvalue.collections.LongSet;
+import org.modelingvalue.collections.Set;
+import org.modelingvalue.collections.util.Concurrent;
+import org.modelingvalue.collections.util.ContextThread;
+import org.modelingvalue.collections.util.NotMergeableException;
+import org.modelingvalue.collections.util.Pair;
+
+public class PrimitiveTest {
+    private static final long SEED = 267835244387707587L;
+
+    @Test
+    public void intSet() {
+        Random random = new Random(SEED);
+        IntSet set = IntSet.of();
+        java.util.Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int e = random.nextInt(20_000) - 10_000;
+            if (random.nextInt(3) == 0) {
+                set = set.remove(e);
+                expected.remove(e);
+            } else {
+                set = set.add(e);
+                expected.add(e);
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        for (int e = -10_000; e < 10_000; e++) {
+            assertEquals(expected.contains(e), set.contains(e));
+        }
+        java.util.Set<Integer> iterated = new HashSet<>();
+        set.forEach((int e) -> assertTrue(iterated.add(e)));
+        assertEquals(expected, iterated);
+        assertEquals(expected.size(), set.stream().count());
+        IntSet bulk = IntSet.of(expected.stream().mapToInt(e -> e).toArray());
+        assertEquals(set, bulk);
+        assertEquals(set.hashCode(), bulk.hashCode());
+        assertSame(set, set.add(set.iterator().nextInt()));
+        assertSame(IntSet.of(), IntSet.of(1, 2).remove(1).remove(2));
+    }
+
+    @Test
+    public void longSet() {
+        long[] values = LongStream.range(0, 10_000).map(i -> i * 0x100000001L - Long.MAX_VALUE / 2).toArray();
+        LongSet set = LongSet.of(values);
+        assertEquals(values.length, set.size());
+        assertTrue(LongStream.of(values).allMatch(set::contains));
+        assertFalse(set.contains(1L));
+        assertFalse(set.contains(values[1] + 1));
+        long[] sorted = set.toArray();
+        java.util.Arrays.sort(sorted);
+        assertArrayEquals(values, sorted);
+        LongSet removed = set;
+        for (int i = 0; i < values.length; i += 2) {
+            removed = removed.remove(values[i]);
+        }
+        assertEquals(values.length / 2, removed.size());
+        assertEquals(LongSet.of(LongStream.range(0, values.length / 2).map(i -> values[(int) i * 2 + 1])), removed);
+        assertEquals(Long.MIN_VALUE, LongSet.of(Long.MIN_VALUE, Long.MAX_VALUE).stream().min().getAsLong());
+    }
+
+    @Test
+    public void setAlgebra() {
+        IntSet evens = IntSet.of(IntStream.range(0, 50_000).map(i -> i * 2));
+        IntSet thirds = IntSet.of(IntStream.range(0, 50_000).map(i -> i * 3));
+        IntSet union = evens.addAll(thirds);
+        IntSet sixths = evens.retainAll(thirds);
+        IntSet odds = thirds.removeAll(evens);
+        assertEquals(IntSet.of(IntStream.range(0, 150_000).filter(i -> i % 2 == 0 && i < 100_000 || i % 3 == 0)), union);
+        assertEquals(IntSet.of(IntStream.range(0, 100_000).filter(i -> i % 6 == 0)), sixths);
+        assertEquals(IntSet.of(IntStream.range(0, 150_000).filter(i -> i % 3 == 0 && (i % 2 != 0 || i >= 100_000))), odds);
+        assertTrue(union.containsAll(evens));
+        assertTrue(evens.containsAll(sixths));
+        assertFalse(evens.containsAll(thirds));
+        assertSame(evens, evens.addAll(sixths));
+        assertSame(evens, evens.retainAll(union));
+        assertSame(evens, evens.removeAll(odds));
+        IntSet[] compare = evens.compare(thirds);
+        assertEquals(evens.removeAll(sixths), compare[0]);
+        assertEquals(odds, compare[1]);
+    }
+
+    @Test
+    public void objMaps() {
+        Random random = new Random(SEED);
+        IntObjMap<String> map = IntObjMap.of();
+        java.util.Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            int k = random.nextInt(10_000);
+            if (random.nextInt(4) == 0) {
+                map = map.removeKey(k);
+                expected.remove(k);
+            } else {
+                String v = "v" + random.nextInt(10);
+                map = map.put(k, v);
+                expected.put(k, v);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int k = 0; k < 10_000; k++) {
+            assertEquals(expected.get(k), map.get(k));
+        }
+        java.util.Map<Integer, String> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+        assertEquals(IntSet.of(expected.keySet().stream().mapToInt(k -> k).toArray()), map.toKeys());
+        assertEquals(expected.size(), map.toValues().size());
+        assertThrows(NullPointerException.class, () -> IntObjMap.of().put(1, null));
+
+        IntObjMap<String> changed = map.put(-1, "new").removeKey(map.toKeys().iterator().nextInt()).put(map.toKeys().toArray()[1], "changed");
+        IntObjMap<Pair<String, String>> diff = map.diff(changed);
+        assertEquals(3, diff.size());
+        assertEquals(Pair.of(null, "new"), diff.get(-1));
+        assertEquals(map, changed.removeAllKey(IntSet.of(-1)).putAll(map));
+
+        LongObjMap<Integer> longs = LongObjMap.of();
+        for (long k = 0; k < 10_000; k++) {
+            longs = longs.put(k << 40, (int) k);
+        }
+        assertEquals(10_000, longs.size());
+        assertEquals((Integer) 1234, longs.get(1234L << 40));
+        assertNull(longs.get(1234L));
+        assertEquals(5_000, longs.removeAllKey(LongSet.of(LongStream.range(0, 5_000).map(k -> k << 40))).size());
+    }
+
+    @Test
+    public void merge() {
+        IntSet base = IntSet.of(IntStream.range(0, 10_000));
+        IntSet merged = base.merge(base.add(-1).remove(5), base.remove(7).add(-2));
+        assertEquals(base.add(-1).add(-2).remove(5).remove(7), merged);
+
+        IntObjMap<Set<String>> map = IntObjMap.<Set<String>> of().put(1, Set.of("a")).put(2, Set.of("b"));
+        IntObjMap<Set<String>> mergedMap = map.merge(map.put(1, Set.of("a", "x")).removeKey(2), map.put(1, Set.of("a", "y")).put(3, Set.of("c")));
+        assertEquals(map.put(1, Set.of("a", "x", "y")).removeKey(2).put(3, Set.of("c")), mergedMap);
+        IntObjMap<String> strings = IntObjMap.<String> of().put(1, "a");
+        assertThrows(NotMergeableException.class, () -> strings.merge(strings.put(1, "b"), strings.put(1, "c")));
+
+        Concurrent<IntSet> concurrent = Concurrent.of(base);
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                IntStream.range(10_000, 20_000).parallel().forEach(i -> concurrent.change(s -> s.add(i).remove(i - 10_000)));
+            }
+        });
+        assertEquals(IntSet.of(IntStream.range(10_000, 20_000)), concurrent.merge());
+    }
+
+    @Test
+    public void intList() {
+        Random random = new Random(SEED);
+        IntList list = IntList.of();
+        java.util.List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            int e = random.nextInt();
+            int p = random.nextInt(expected.size() + 1);
+            switch (random.nextInt(6)) {
+            case 0:
+                list = list.prepend(e);
+                expected.add(0, e);
+                break;
+            case 1:
+                list = list.insert(p, e);
+                expected.add(p, e);
+                break;
+            case 2:
+                if (p < expected.size()) {
+                    list = list.removeIndex(p);
+                    expected.remove(p);
+                }
+                break;
+            case 3:
+                if (p < expected.size()) {
+                    list = list.replace(p, e);
+                    expected.set(p, e);
+                }
+                break;
+            default:
+                list = list.append(e);
+                expected.add(e);
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((int) expected.get(i), list.get(i));
+        }
+        int[] array = expected.stream().mapToInt(e -> e).toArray();
+        assertArrayEquals(array, list.toArray());
+        assertArrayEquals(array, list.stream().toArray());
+        assertEquals(IntList.of(array), list);
+        assertEquals(IntList.of(array).hashCode(), list.hashCode());
+        assertEquals(expected.indexOf(array[777]), list.firstIndexOf(array[777]));
+        assertThrows(IndexOutOfBoundsException.class, () -> IntList.of(1).get(1));
+    }
+
+    @Test
+    public void listSlices() {
+        LongList longs = LongList.of(LongStream.range(0, 100_000));
+        LongList middle = longs.sublist(25_000, 75_000);
+        assertEquals(LongList.of(LongStream.range(25_000, 75_000)), middle);
+        assertEquals(longs, longs.sublist(0, 25_000).appendList(middle).appendList(longs.sublist(75_000, 100_000)));
+        assertEquals(longs.removeList(25_000, 75_000), longs.sublist(0, 25_000).appendList(longs.sublist(75_000, 100_000)));
+        assertEquals(LongList.of(LongStream.concat(LongStream.range(0, 10), LongStream.range(0, 100_000))), longs.insertList(0, longs.sublist(0, 10)));
+        assertEquals(longs.stream().sum(), middle.stream().sum() + longs.removeList(25_000, 75_000).stream().sum());
+        LongList doubled = LongList.of();
+        for (int i = 0; i < 20; i++) {
+            doubled = doubled.appendList(longs.sublist(i * 5_000, i * 5_000 + 5_000));
+        }
+        assertEquals(longs, doubled);
+
+        DoubleList doubles = DoubleList.of(DoubleStream.iterate(0.5, d -> d * 2).limit(1_000)).append(Double.NaN);
+        assertEquals(1_000, doubles.firstIndexOf(Double.NaN));
+        assertEquals(0.5, doubles.first());
+        assertTrue(Double.isNaN(doubles.last()));
+        assertEquals(doubles, doubles.removeLast().append(Double.NaN));
+        assertSame(doubles, doubles.replace(1_000, Double.NaN));
+        assertEquals("DoubleList[0.5,1.0,2.0]", doubles.sublist(0, 3).toString());
+    }
+
+    @Test
+    public void sharedRope() {
+        Random random = new Random(11);
+        IntList ints = IntList.of(IntStream.range(0, 10_000));
+        List<Integer> list = Collection.of(IntStream.range(0, 10_000)).toList();
+        for (int n = 0; n < 2_000; n++) {
+            int b = random.nextInt(ints.size()), e = b + random.nextInt(ints.size() - b), m = Math.min(e, b + 1_000);
+            switch (random.nextInt(4)) {
+            case 0:
+                ints = ints.insertList(b, ints.sublist(b, m));
+                list = list.insertList(b, list.sublist(b, m));
+                break;
+            case 1:
+                ints = ints.removeList(b, m);
+                list = list.removeList(b, m);
+                break;
+            case 2:
+                ints = ints.sublist(0, e).prependList(ints.sublist(e, ints.size()));
+                list = list.sublist(0, e).prependList(list.sublist(e, list.size()));
+                break;
+            default:
+                ints = ints.insert(b, n).removeIndex(e);
+                list = list.insert(b, n).removeIndex(e);
+            }
+            if (ints.size() < 1_000) {
+                ints = ints.appendList(IntList.of(IntStream.range(0, 10_000)));
+                list = list.appendList(Collection.of(IntStream.range(0, 10_000)).toList());
+            }
+        }
+        assertEquals(list.size(), ints.size());
+        assertEquals(list, Collection.of(ints.stream().boxed()).toList());
+    }
+
+    @Test
+    public void serialize() throws IOException, ClassNotFoundException {
+        IntSet ints = IntSet.of(IntStream.range(-5_000, 5_000));
+        LongSet longs = LongSet.of(Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE);
+        IntObjMap<String> intMap = IntObjMap.<String> of().put(-7, "a").put(Integer.MAX_VALUE, "b");
+        LongObjMap<String> longMap = LongObjMap.<String> of().put(Long.MIN_VALUE, "a").put(42L, "b");
+        assertEquals(ints, deserialize(serialize(ints)));
+        assertEquals(longs, deserialize(serialize(longs)));
+        assertEquals(intMap, deserialize(serialize(intMap)));
+        assertEquals(longMap, deserialize(serialize(longMap)));
+        IntList intList = IntList.of(IntStream.range(-5_000, 5_000));
+        LongList longList = LongList.of(Long.MIN_VALUE, -1L, Long.MAX_VALUE);
+        DoubleList doubleList = DoubleList.of(-0.0, Double.NaN, Double.MAX_VALUE);
+        assertEquals(intList, deserialize(serialize(intList)));
+        assertEquals(longList, deserialize(serialize(longList)));
+        assertEquals(doubleList, deserialize(serialize(doubleList)));
+    }
+
+    private static byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -146,6 +146,22 @@ public class QualifiedSetTest {
 
     }
 
+    @Test
+    public void bulkTest() {
+        int max = 100_000;
+        SerializableFunction<Integer, String> f = i -> Integer.toString(i % (max / 2));
+        Integer[] array = IntStream.range(0, max).boxed().toArray(Integer[]::new);
+        QualifiedSet<String, Integer> incremental = QualifiedSet.of(f);
+        for (Integer i : array) {
+            incremental = incremental.add(i);
+        }
+        QualifiedSet<String, Integer> bulk = QualifiedSet.of(f, array);
+        assertEquals(max / 2, bulk.size());
+        assertEquals(incremental.hashCode(), bulk.hashCode());
+        assertEquals(incremental, bulk);
+        assertTrue(bulk.allMatch(i -> i < max / 2));
+    }
+
     private static String k(O o) {
         return o.k;
     }
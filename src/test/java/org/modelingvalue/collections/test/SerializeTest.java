@@ -47,6 +47,15 @@ public class SerializeTest {
         assertEquals(list, deserialize(serialize(list)));
     }
 
+    @Test
+    public void serializeIndexedList() throws IOException, ClassNotFoundException {
+        IndexedList<Integer> list = IndexedList.of(1, 2, 3, 2, 1);
+        IndexedList<Integer> copy = deserialize(serialize(list));
+        assertEquals(list, copy);
+        assertEquals(2, copy.count(2));
+        assertEquals(3, copy.append(2).count(2));
+    }
+
     @Test
     public void serializeSmallSet() throws IOException, ClassNotFoundException {
         Set<Integer> set = Set.of(1, 2, 3, 4, 5);
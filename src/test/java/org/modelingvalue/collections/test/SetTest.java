@@ -16,6 +16,7 @@
 package org.modelingvalue.collections.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -33,8 +34,11 @@ import org.junit.jupiter.api.Test;
 import org.modelingvalue.collections.Collection;
 import org.modelingvalue.collections.Set;
 import org.modelingvalue.collections.impl.HashCollectionImpl;
+import org.modelingvalue.collections.struct.impl.Struct2Impl;
+import org.modelingvalue.collections.struct.impl.StructImpl;
 import org.modelingvalue.collections.util.Context;
 import org.modelingvalue.collections.util.ContextThread;
+import org.modelingvalue.collections.util.IdentifiedByArray;
 
 public class SetTest {
     private static final Context<Object> CONTEXT = Context.of();
@@ -93,6 +97,32 @@ public class SetTest {
         });
     }
 
+    @SuppressWarnings({"serial", "rawtypes"})
+    @Test
+    public void parallelTest() {
+        ContextThread.createPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                Object ctx = new Object();
+                CONTEXT.run(ctx, () -> {
+                    int max = 1_000_000;
+                    Set<HashSharingInteger> set = Collection.of(IntStream.range(0, max)).map(i -> {
+                        assertEquals(ctx, CONTEXT.get());
+                        return new HashSharingInteger(i % (max / 2), i % (max / 2) / 3 * 0x9E3779B1);
+                    }).toSetParallel();
+                    Set<HashSharingInteger> expected = Collection.of(IntStream.range(0, max)).map(i -> new HashSharingInteger(i % (max / 2), i % (max / 2) / 3 * 0x9E3779B1)).sequential().toSet();
+                    assertEquals(ctx, CONTEXT.get());
+                    assertNull(((HashCollectionImpl) set).checkHashIntegrity());
+                    assertEquals(max / 2, set.size());
+                    assertEquals(expected.hashCode(), set.hashCode());
+                    assertEquals(expected, set);
+                });
+            }
+        });
+        assertEquals(Set.of(), Collection.<Integer> of(IntStream.range(0, 0).boxed()).toSetParallel());
+        assertEquals(Set.of(7), Collection.of(IntStream.range(7, 8).boxed()).toSetParallel());
+    }
+
     @Test
     public void randomtest() {
         Random random = new Random();
@@ -207,6 +237,35 @@ public class SetTest {
         assertEquals(set1, set2);
     }
 
+    @Test
+    public void containsAllAndIntersects() {
+        Set<Object> set = Set.of();
+        for (int i = 0; i < 100; i++) {
+            set = set.add(new HashSharingInteger(i, i % 10));
+        }
+        set = set.addAll(Collection.of(IntStream.range(0, 10_000)).toSet());
+        Set<Object> sub = set.removeAll(Collection.of(IntStream.range(0, 10_000).filter(i -> i % 3 != 0)));
+        Set<Object> more = sub.add(10_000);
+        Set<Object> collision = Set.of(new HashSharingInteger(5, 5), new HashSharingInteger(1005, 5));
+        assertTrue(set.containsAll(set));
+        assertTrue(set.containsAll(sub));
+        assertTrue(set.containsAll(Set.of()));
+        assertTrue(set.containsAll(Collection.of(IntStream.range(0, 10_000).filter(i -> i % 7 == 0))));
+        assertFalse(sub.containsAll(set));
+        assertFalse(set.containsAll(more));
+        assertFalse(set.containsAll(collision));
+        assertFalse(Set.of().containsAll(sub));
+        assertTrue(set.intersects(sub));
+        assertTrue(more.intersects(Set.of(10_000)));
+        assertTrue(set.intersects(collision));
+        assertTrue(set.intersects(Collection.of(IntStream.of(-1, 5))));
+        assertFalse(set.intersects(Set.of()));
+        assertFalse(Set.of().intersects(set));
+        assertFalse(set.intersects(Collection.of(IntStream.range(10_000, 20_000)).toSet()));
+        assertFalse(set.intersects(Set.of(new HashSharingInteger(1005, 5))));
+        assertFalse(set.removeAll(sub).intersects(sub));
+    }
+
     @Test
     public void merge() {
 
@@ -290,6 +349,95 @@ public class SetTest {
         assertNull(((HashCollectionImpl) set).checkHashIntegrity());
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void builderTest() {
+        int max = 10_000;
+        Set<HashSharingInteger> incremental = Set.of();
+        Set.Builder<HashSharingInteger> builder = Set.builder();
+        for (int i = -max; i < max; i++) {
+            int v = i % (max / 2);
+            HashSharingInteger obj = new HashSharingInteger(v, v - v % 5);
+            incremental = incremental.add(obj);
+            builder.add(obj);
+        }
+        Set<HashSharingInteger> built = builder.build();
+        assertNull(((HashCollectionImpl) built).checkHashIntegrity());
+        assertEquals(incremental.size(), built.size());
+        assertEquals(incremental.hashCode(), built.hashCode());
+        assertEquals(incremental, built);
+        assertEquals(Set.of(), Set.builder().add(null).build());
+        assertEquals(Set.of(1, 2, 3), Set.<Integer> builder().add(3).addAll(Set.<Integer> builder().add(1).add(2)).add(1).build());
+    }
+
+    @Test
+    public void structKeys() {
+        int[] calls = {0};
+        class Counted {
+            private final int integer;
+
+            Counted(int integer) {
+                this.integer = integer;
+            }
+
+            @Override
+            public int hashCode() {
+                calls[0]++;
+                return integer;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                return other instanceof Counted && ((Counted) other).integer == integer;
+            }
+        }
+        Struct2Impl<?, ?>[] structs = new Struct2Impl[1_000];
+        for (int i = 0; i < structs.length; i++) {
+            structs[i] = new Struct2Impl<>(new Counted(i), i % 7);
+        }
+        Set<Struct2Impl<?, ?>> set = Set.of();
+        for (Struct2Impl<?, ?> s : structs) {
+            set = set.add(s);
+        }
+        Set<Struct2Impl<?, ?>> all = set.addAll(Set.of(structs)).removeAll(Set.of(Arrays.copyOf(structs, 10)));
+        assertEquals(structs.length, calls[0]);
+        assertEquals(structs.length - 10, all.size());
+        Struct2Impl<?, ?> copy = new Struct2Impl<>(new Counted(3), 3);
+        assertTrue(set.contains(copy));
+        assertEquals(structs[3], copy);
+        assertNotEquals(structs[3], new Struct2Impl<>(new Counted(3), 4));
+        assertEquals(new IdentifiedByArray(new Object[]{1, "a"}).hashCode(), Arrays.hashCode(new Object[]{1, "a"}));
+        assertEquals(new IdentifiedByArray(new Object[]{1, "a"}), new IdentifiedByArray(new Object[]{1, "a"}));
+    }
+
+    @Test
+    public void mutableStructKeys() {
+        MutableStruct s1 = new MutableStruct("a", "b");
+        MutableStruct s2 = new MutableStruct("a", "b");
+        assertEquals(s1.hashCode(), s2.hashCode());
+        // equals shares the data of s1 and s2
+        assertEquals(s1, s2);
+        s1.put(1, "c");
+        assertEquals(new MutableStruct("a", "b"), s2);
+        assertEquals(new MutableStruct("a", "b").hashCode(), s2.hashCode());
+        assertEquals(new MutableStruct("a", "c"), s1);
+        assertEquals(new MutableStruct("a", "c").hashCode(), s1.hashCode());
+        assertTrue(Set.of(s2).contains(new MutableStruct("a", "b")));
+        assertTrue(Set.of(s1).contains(new MutableStruct("a", "c")));
+    }
+
+    private static final class MutableStruct extends StructImpl {
+        private static final long serialVersionUID = 1L;
+
+        private MutableStruct(Object... data) {
+            super(data);
+        }
+
+        private void put(int i, Object val) {
+            set(i, val);
+        }
+    }
+
     private static final class HashSharingInteger {
         private final int integer;
         private final int hashCode;